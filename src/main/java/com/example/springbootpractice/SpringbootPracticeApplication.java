@@ -2,12 +2,27 @@ package com.example.springbootpractice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.PropertySource;
 
 @SpringBootApplication
+// application.yml 에 값이 없을 때 사용할 기본 설정
+@PropertySource("classpath:defaults.properties")
 public class SpringbootPracticeApplication {
 
+	// 기동 단계(StartupStep)를 버퍼에 기록해 두고 /admin/startup 에서 조회한다.
+	private static final int STARTUP_BUFFER_CAPACITY = 4096;
+
 	public static void main(String[] args) {
-		SpringApplication.run(SpringbootPracticeApplication.class, args);
+		SpringApplication application = new SpringApplication(SpringbootPracticeApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_BUFFER_CAPACITY));
+		ConfigurableApplicationContext context = application.run(args);
+
+		// AppCDS 학습 실행(gradle cdsArchive)에서는 컨텍스트가 뜨자마자 종료해 로드된 클래스를 덤프한다.
+		if (Boolean.getBoolean("startup.exit-after-refresh")) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
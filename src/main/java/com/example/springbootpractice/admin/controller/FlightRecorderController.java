@@ -0,0 +1,71 @@
+package com.example.springbootpractice.admin.controller;
+
+import com.example.springbootpractice.admin.dto.FlightRecordingDto;
+import com.example.springbootpractice.admin.service.FlightRecorderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.nio.file.Path;
+
+@Controller
+@RequiredArgsConstructor
+public class FlightRecorderController {
+    private final FlightRecorderService flightRecorderService;
+
+    @ResponseBody
+    @GetMapping("/admin/jfr")
+    public ResponseEntity<FlightRecordingDto> getRecording() {
+        return flightRecorderService.getRecording()
+                .map(recording -> new ResponseEntity<>(recording, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @ResponseBody
+    @PostMapping("/admin/jfr/start")
+    public ResponseEntity<FlightRecordingDto> start(@RequestParam(defaultValue = "default") String settings) throws Exception {
+        try {
+            return new ResponseEntity<>(flightRecorderService.start(settings), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+    }
+
+    @ResponseBody
+    @PostMapping("/admin/jfr/stop")
+    public ResponseEntity<FlightRecordingDto> stop() {
+        try {
+            return new ResponseEntity<>(flightRecorderService.stop(), HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+    }
+
+    // JDK Mission Control 또는 `jfr print` 로 연다.
+    @ResponseBody
+    @GetMapping("/admin/jfr/dump")
+    public ResponseEntity<Resource> dump() throws Exception {
+        Path file;
+        try {
+            file = flightRecorderService.dump();
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(file.getFileName().toString()).build());
+        return new ResponseEntity<>(new FileSystemResource(file), headers, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.springbootpractice.admin.controller;
+
+import com.example.springbootpractice.admin.dto.ForcedLogoutProgressDto;
+import com.example.springbootpractice.admin.dto.ForcedLogoutRequestDto;
+import com.example.springbootpractice.admin.service.ForcedLogoutService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class ForcedLogoutController {
+    private final ForcedLogoutService forcedLogoutService;
+    private final ObjectMapper objectMapper;
+
+    // emails 또는 role 의 모든 세션을 폐기한다.
+    // 진행 상황을 배치마다 한 줄(NDJSON)씩 보내고 마지막 줄은 done=true 이다.
+    @ResponseBody
+    @PostMapping("/admin/members/forced-logout")
+    public ResponseEntity<StreamingResponseBody> forcedLogout(@RequestBody ForcedLogoutRequestDto request) {
+        if ((request.getEmails() == null) == (request.getRole() == null)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        StreamingResponseBody body = out -> {
+            Consumer<ForcedLogoutProgressDto> progress = progressWriter(out);
+            if (request.getEmails() != null) {
+                forcedLogoutService.revokeEmails(request.getEmails(), progress);
+            } else {
+                forcedLogoutService.revokeRole(request.getRole(), progress);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // 클라이언트가 연결을 끊어도 폐기는 끝까지 진행한다.
+    private Consumer<ForcedLogoutProgressDto> progressWriter(OutputStream out) {
+        boolean[] disconnected = new boolean[1];
+        return progress -> {
+            if (disconnected[0]) {
+                return;
+            }
+            try {
+                out.write(objectMapper.writeValueAsBytes(progress));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                disconnected[0] = true;
+                log.warn("Forced logout client disconnected; continuing without progress: {}", e.getMessage());
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.springbootpractice.admin.controller;
+
+import com.example.springbootpractice.admin.dto.RedisKeyspaceReportDto;
+import com.example.springbootpractice.admin.service.RedisKeyspaceReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+@Controller
+@RequiredArgsConstructor
+public class RedisKeyspaceController {
+    private final RedisKeyspaceReportService redisKeyspaceReportService;
+
+    // 마지막으로 끝난 집계 결과
+    @ResponseBody
+    @GetMapping("/admin/redis/keyspace")
+    public ResponseEntity<RedisKeyspaceReportDto> getReport() {
+        return redisKeyspaceReportService.getLastReport()
+                .map(report -> new ResponseEntity<>(report, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    // 집계를 바로 시작한다. 결과는 끝난 뒤 GET 으로 조회한다.
+    @ResponseBody
+    @PostMapping("/admin/redis/keyspace/scan")
+    public ResponseEntity<Void> scan() {
+        if (!redisKeyspaceReportService.trigger()) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        return new ResponseEntity<>(HttpStatus.ACCEPTED);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.springbootpractice.admin.controller;
+
+import com.example.springbootpractice.admin.dto.StartupStepDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Controller
+@RequiredArgsConstructor
+public class StartupController {
+    private final ApplicationStartup applicationStartup;
+
+    // 기동 단계별 소요 시간. SpringbootPracticeApplication.main 으로 띄웠을 때만 기록된다.
+    @ResponseBody
+    @GetMapping("/admin/startup")
+    public ResponseEntity<List<StartupStepDto>> getStartupSteps(
+            @RequestParam(defaultValue = "0") long minDurationMillis) {
+        if (!(applicationStartup instanceof BufferingApplicationStartup)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        StartupTimeline timeline = ((BufferingApplicationStartup) applicationStartup).getBufferedTimeline();
+        List<StartupStepDto> steps = timeline.getEvents().stream()
+                .filter(event -> event.getDuration().toMillis() >= minDurationMillis)
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .map(event -> toDto(event.getStartupStep(), event.getDuration().toMillis()))
+                .collect(Collectors.toList());
+
+        return new ResponseEntity<>(steps, HttpStatus.OK);
+    }
+
+    private StartupStepDto toDto(StartupStep step, long durationMillis) {
+        Map<String, String> tags = new LinkedHashMap<>();
+        step.getTags().forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+        return new StartupStepDto(step.getId(), step.getParentId(), step.getName(), durationMillis, tags);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.springbootpractice.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class FlightRecordingDto {
+    private long id;
+    private String name;
+    // NEW, DELAYED, RUNNING, STOPPED, CLOSED
+    private String state;
+    private String settings;
+    // epoch ms, 시작 전이면 null
+    private Long startTime;
+    private Long stopTime;
+    private long maxAgeMillis;
+    private long maxSizeBytes;
+}
@@ -0,0 +1,17 @@
+package com.example.springbootpractice.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ForcedLogoutProgressDto {
+    // 폐기 처리한 계정 수
+    private long processed;
+    // 그 중 refresh token(RT:)이 있던, 즉 로그인 중이던 계정 수
+    private long sessions;
+    // Redis 파이프라인(왕복) 수
+    private long batches;
+    private long elapsedMillis;
+    private boolean done;
+}
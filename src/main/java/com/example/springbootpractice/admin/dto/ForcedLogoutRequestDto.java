@@ -0,0 +1,14 @@
+package com.example.springbootpractice.admin.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+// emails 와 role 중 하나만 채운다.
+@Getter
+@Setter
+public class ForcedLogoutRequestDto {
+    private List<String> emails;
+    private String role;
+}
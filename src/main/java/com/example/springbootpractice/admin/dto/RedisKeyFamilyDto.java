@@ -0,0 +1,18 @@
+package com.example.springbootpractice.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class RedisKeyFamilyDto {
+    private String family;
+    private long keys;
+    // MEMORY USAGE 합계 (키, 값, 내부 오버헤드 포함)
+    private long bytes;
+    private long maxBytes;
+    // TTL 상한 -> 키 수 ( "1m" ... "30d", "+Inf", 만료 없음은 "persistent" )
+    private Map<String, Long> ttlHistogram;
+}
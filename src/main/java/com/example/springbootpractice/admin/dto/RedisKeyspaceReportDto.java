@@ -0,0 +1,18 @@
+package com.example.springbootpractice.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class RedisKeyspaceReportDto {
+    // epoch ms
+    private long startedAt;
+    private long finishedAt;
+    private long scannedKeys;
+    // 중간에 중단(종료, 오류)되어 일부 키만 센 결과
+    private boolean partial;
+    private List<RedisKeyFamilyDto> families;
+}
@@ -0,0 +1,16 @@
+package com.example.springbootpractice.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class StartupStepDto {
+    private long id;
+    private Long parentId;
+    private String name;
+    private long durationMillis;
+    private Map<String, String> tags;
+}
@@ -0,0 +1,110 @@
+package com.example.springbootpractice.admin.service;
+
+import com.example.springbootpractice.admin.dto.ForcedLogoutProgressDto;
+import com.example.springbootpractice.audit.entity.AuthAuditType;
+import com.example.springbootpractice.audit.service.AuthAuditService;
+import com.example.springbootpractice.member.dto.MemberSummaryDto;
+import com.example.springbootpractice.member.repository.MemberRepository;
+import com.example.springbootpractice.member.security.TokenStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// 계정 목록 또는 권한 단위의 강제 로그아웃.
+// batch-size 개 계정마다 TokenStore.revokeAccounts 파이프라인 한 번으로 RT: 삭제, 폐기 기록, 다른 노드 알림을 보내고
+// 배치가 끝날 때마다 progress 로 진행 상황을 넘긴다. (마지막에는 done=true 로 한 번 더)
+// 이메일은 저장된 값(토큰 subject)과 대소문자까지 같아야 한다.
+@Slf4j
+@Service
+public class ForcedLogoutService {
+    private final TokenStore tokenStore;
+    private final MemberRepository memberRepository;
+    private final AuthAuditService authAuditService;
+
+    @Value("${admin.forced-logout.batch-size:1000}")
+    private int batchSize;
+
+    public ForcedLogoutService(TokenStore tokenStore,
+                               MemberRepository memberRepository,
+                               AuthAuditService authAuditService) {
+        this.tokenStore = tokenStore;
+        this.memberRepository = memberRepository;
+        this.authAuditService = authAuditService;
+    }
+
+    public ForcedLogoutProgressDto revokeEmails(List<String> emails, Consumer<ForcedLogoutProgressDto> progress) {
+        Progress state = new Progress(progress);
+        List<String> distinct = emails.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        int size = Math.max(1, batchSize);
+        for (int from = 0; from < distinct.size(); from += size) {
+            revokeBatch(distinct.subList(from, Math.min(from + size, distinct.size())), state);
+        }
+        return state.finish();
+    }
+
+    // 권한을 가진 회원을 id 순 keyset 페이지로 읽으면서 페이지마다 폐기한다.
+    public ForcedLogoutProgressDto revokeRole(String role, Consumer<ForcedLogoutProgressDto> progress) {
+        Progress state = new Progress(progress);
+        int size = Math.max(1, batchSize);
+        long afterId = 0L;
+        while (true) {
+            List<MemberSummaryDto> members = memberRepository.findPageByRoleAfter(role, afterId, PageRequest.of(0, size));
+            if (members.isEmpty()) {
+                break;
+            }
+            revokeBatch(members.stream().map(MemberSummaryDto::getEmail).collect(Collectors.toList()), state);
+            if (members.size() < size) {
+                break;
+            }
+            afterId = members.get(members.size() - 1).getId();
+        }
+        return state.finish();
+    }
+
+    private void revokeBatch(List<String> emails, Progress state) {
+        int sessions = tokenStore.revokeAccounts(emails);
+        // 계정 수만큼의 이벤트가 감사 큐를 넘쳐 버려지지 않도록 배치 단위로 바로 기록한다.
+        authAuditService.publishAll(AuthAuditType.FORCED_LOGOUT, emails);
+        state.add(emails.size(), sessions);
+    }
+
+    private static class Progress {
+        private final Consumer<ForcedLogoutProgressDto> listener;
+        private final long started = System.nanoTime();
+        private long processed;
+        private long sessions;
+        private long batches;
+
+        Progress(Consumer<ForcedLogoutProgressDto> listener) {
+            this.listener = listener;
+        }
+
+        void add(int accounts, int revokedSessions) {
+            processed += accounts;
+            sessions += revokedSessions;
+            batches++;
+            listener.accept(snapshot(false));
+        }
+
+        ForcedLogoutProgressDto finish() {
+            ForcedLogoutProgressDto result = snapshot(true);
+            log.info("Forced logout finished: {} accounts, {} sessions, {} batches in {} ms",
+                    processed, sessions, batches, result.getElapsedMillis());
+            listener.accept(result);
+            return result;
+        }
+
+        private ForcedLogoutProgressDto snapshot(boolean done) {
+            return new ForcedLogoutProgressDto(processed, sessions, batches,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), done);
+        }
+    }
+}
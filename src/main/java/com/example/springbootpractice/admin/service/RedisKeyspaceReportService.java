@@ -0,0 +1,273 @@
+package com.example.springbootpractice.admin.service;
+
+import com.example.springbootpractice.admin.dto.RedisKeyFamilyDto;
+import com.example.springbootpractice.admin.dto.RedisKeyspaceReportDto;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToLongFunction;
+
+// RT:, 블랙리스트("Bearer "), "AuthCode " 등 키 family 별 개수, 메모리(MEMORY USAGE), TTL 분포를 집계한다.
+// KEYS 대신 SCAN 으로 scan-count 개씩 훑고, 한 페이지의 TTL/MEMORY USAGE 는 파이프라인으로 보낸 뒤
+// redis.keyspace-report.rate (키/초) 를 넘지 않도록 쉬어 가므로 Redis 를 오래 붙잡지 않는다.
+// replica 에서 읽으며 interval 마다 실행하고 마지막 결과를 redis.keyspace.* gauge 로 내보낸다.
+@Slf4j
+@Service
+public class RedisKeyspaceReportService {
+    // 키 prefix -> family. 어느 것에도 해당하지 않으면 other
+    private static final Map<String, String> FAMILIES = new LinkedHashMap<>();
+    private static final String OTHER = "other";
+    // TTL 히스토그램 상한(초)과 이름. 상한을 넘으면 +Inf, 만료가 없으면 persistent
+    private static final long[] TTL_BUCKET_SECONDS = {60, 600, 3_600, 86_400, 604_800, 2_592_000};
+    private static final List<String> TTL_BUCKETS = List.of("1m", "10m", "1h", "1d", "7d", "30d", "+Inf", "persistent");
+
+    static {
+        FAMILIES.put("RT:", "refresh-token");
+        FAMILIES.put("Bearer ", "blacklist");
+        FAMILIES.put("AuthCode ", "auth-code");
+        FAMILIES.put("Idempotency ", "idempotency");
+        FAMILIES.put("Revoked ", "account-revocation");
+    }
+
+    private final RedisTemplate<String, Object> replicaRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile RedisKeyspaceReportDto lastReport;
+    private volatile Map<String, RedisKeyFamilyDto> lastFamilies = Map.of();
+    private volatile boolean closed;
+    private ScheduledExecutorService executor;
+
+    @Value("${redis.keyspace-report.enabled:true}")
+    private boolean enabled;
+
+    // 첫 실행도 기동 후 interval 뒤에 한다.
+    @Value("${redis.keyspace-report.interval:1h}")
+    private Duration interval;
+
+    // SCAN COUNT 힌트
+    @Value("${redis.keyspace-report.scan-count:200}")
+    private int scanCount;
+
+    // 초당 처리할 최대 키 수
+    @Value("${redis.keyspace-report.rate:1000}")
+    private double rate;
+
+    @Value("${redis.keyspace-report.command-timeout:2s}")
+    private Duration commandTimeout;
+
+    public RedisKeyspaceReportService(@Qualifier("replicaRedisTemplate") RedisTemplate<String, Object> replicaRedisTemplate,
+                                      MeterRegistry meterRegistry) {
+        this.replicaRedisTemplate = replicaRedisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    protected void init() {
+        List<String> families = new ArrayList<>(FAMILIES.values());
+        families.add(OTHER);
+        for (String family : families) {
+            registerGauge("redis.keyspace.keys", family, null, RedisKeyFamilyDto::getKeys);
+            registerGauge("redis.keyspace.bytes", family, null, RedisKeyFamilyDto::getBytes);
+            for (String bucket : TTL_BUCKETS) {
+                registerGauge("redis.keyspace.ttl", family, bucket, dto -> dto.getTtlHistogram().get(bucket));
+            }
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-keyspace-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            executor.scheduleWithFixedDelay(() -> {
+                if (running.compareAndSet(false, true)) {
+                    runReport();
+                }
+            }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // 백그라운드에서 바로 한 번 실행한다. 이미 실행 중이면 false
+    public boolean trigger() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(this::runReport);
+        return true;
+    }
+
+    public Optional<RedisKeyspaceReportDto> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    // 호출한 스레드에서 keyspace 전체를 한 번 훑는다.
+    @SuppressWarnings("unchecked")
+    public RedisKeyspaceReportDto report() {
+        Map<String, FamilyStats> stats = new LinkedHashMap<>();
+        FAMILIES.values().forEach(family -> stats.put(family, new FamilyStats()));
+        stats.put(OTHER, new FamilyStats());
+        long startedAt = System.currentTimeMillis();
+        long[] scannedKeys = new long[1];
+
+        Boolean complete = replicaRedisTemplate.execute((RedisCallback<Boolean>) connection -> {
+            RedisClusterAsyncCommands<byte[], byte[]> commands =
+                    (RedisClusterAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+            ScanArgs args = ScanArgs.Builder.limit(scanCount);
+            long nanosPerKey = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            long nextPermit = System.nanoTime();
+            ScanCursor cursor = ScanCursor.INITIAL;
+            do {
+                if (closed) {
+                    return false;
+                }
+                KeyScanCursor<byte[]> page = await(commands.scan(cursor, args));
+                List<byte[]> keys = page.getKeys();
+                List<RedisFuture<Long>> ttls = new ArrayList<>(keys.size());
+                List<RedisFuture<Long>> sizes = new ArrayList<>(keys.size());
+                for (byte[] key : keys) {
+                    ttls.add(commands.ttl(key));
+                    sizes.add(commands.memoryUsage(key));
+                }
+                for (int i = 0; i < keys.size(); i++) {
+                    Long ttl = await(ttls.get(i));
+                    Long size = await(sizes.get(i));
+                    // SCAN 과 조회 사이에 만료/삭제된 키
+                    if (ttl == null || ttl == -2 || size == null) {
+                        continue;
+                    }
+                    stats.get(familyOf(keys.get(i))).add(size, ttl);
+                    scannedKeys[0]++;
+                }
+                cursor = page;
+
+                // 처리한 키 수만큼 다음 허용 시각을 미루고 그때까지 쉰다. 늦어진 만큼 몰아서 처리하지는 않는다.
+                nextPermit = Math.max(nextPermit + keys.size() * nanosPerKey, System.nanoTime());
+                long wait = nextPermit - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+            } while (!cursor.isFinished());
+            return true;
+        });
+
+        List<RedisKeyFamilyDto> families = new ArrayList<>();
+        stats.forEach((family, familyStats) -> families.add(familyStats.toDto(family)));
+        return new RedisKeyspaceReportDto(startedAt, System.currentTimeMillis(), scannedKeys[0],
+                !Boolean.TRUE.equals(complete), families);
+    }
+
+    @PreDestroy
+    protected void close() {
+        closed = true;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runReport() {
+        try {
+            RedisKeyspaceReportDto report = report();
+            lastReport = report;
+            Map<String, RedisKeyFamilyDto> families = new LinkedHashMap<>();
+            report.getFamilies().forEach(family -> families.put(family.getFamily(), family));
+            lastFamilies = families;
+            log.info("Redis keyspace report: {} keys in {} ms{}", report.getScannedKeys(),
+                    report.getFinishedAt() - report.getStartedAt(), report.isPartial() ? " (partial)" : "");
+        } catch (RuntimeException e) {
+            log.warn("Redis keyspace report failed: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // 보고서가 아직 없으면 NaN
+    private void registerGauge(String name, String family, String bucket, ToLongFunction<RedisKeyFamilyDto> value) {
+        Gauge.Builder<RedisKeyspaceReportService> builder = Gauge.builder(name, this, service -> {
+            RedisKeyFamilyDto dto = service.lastFamilies.get(family);
+            return dto == null ? Double.NaN : value.applyAsLong(dto);
+        }).tag("family", family);
+        if (bucket != null) {
+            builder.tag("le", bucket);
+        }
+        builder.register(meterRegistry);
+    }
+
+    private <T> T await(RedisFuture<T> future) {
+        return LettuceFutures.awaitOrCancel(future, commandTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static String familyOf(byte[] key) {
+        String name = new String(key, StandardCharsets.UTF_8);
+        for (Map.Entry<String, String> family : FAMILIES.entrySet()) {
+            if (name.startsWith(family.getKey())) {
+                return family.getValue();
+            }
+        }
+        return OTHER;
+    }
+
+    private static class FamilyStats {
+        private long keys;
+        private long bytes;
+        private long maxBytes;
+        private final long[] ttlCounts = new long[TTL_BUCKETS.size()];
+
+        void add(long size, long ttlSeconds) {
+            keys++;
+            bytes += size;
+            maxBytes = Math.max(maxBytes, size);
+            ttlCounts[bucketOf(ttlSeconds)]++;
+        }
+
+        RedisKeyFamilyDto toDto(String family) {
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < TTL_BUCKETS.size(); i++) {
+                histogram.put(TTL_BUCKETS.get(i), ttlCounts[i]);
+            }
+            return new RedisKeyFamilyDto(family, keys, bytes, maxBytes, histogram);
+        }
+
+        private static int bucketOf(long ttlSeconds) {
+            if (ttlSeconds == -1) {
+                return TTL_BUCKETS.size() - 1;
+            }
+            for (int i = 0; i < TTL_BUCKET_SECONDS.length; i++) {
+                if (ttlSeconds <= TTL_BUCKET_SECONDS[i]) {
+                    return i;
+                }
+            }
+            return TTL_BUCKET_SECONDS.length;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.springbootpractice.audit.dto;
+
+import com.example.springbootpractice.audit.entity.AuthAuditType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class AuthAuditEvent {
+    private final AuthAuditType type;
+    private final String email;
+    private final LocalDateTime occurredAt;
+}
@@ -0,0 +1,30 @@
+package com.example.springbootpractice.audit.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 인증 감사 로그 테이블. 스키마 관리용 엔티티이며 적재는 AuthAuditService 가 JDBC batch insert 로 한다.
+@Entity
+@Table(name = "auth_audit",
+        indexes = {@Index(name = "idx_auth_audit_email", columnList = "email")})
+@Getter
+@NoArgsConstructor
+public class AuthAudit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AuthAuditType type;
+
+    @Column(length = 50)
+    private String email;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,11 @@
+package com.example.springbootpractice.audit.entity;
+
+public enum AuthAuditType {
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    REFRESH,
+    LOGOUT,
+    PASSWORD_CHANGE,
+    WITHDRAW,
+    FORCED_LOGOUT
+}
@@ -0,0 +1,160 @@
+package com.example.springbootpractice.audit.service;
+
+import com.example.springbootpractice.audit.dto.AuthAuditEvent;
+import com.example.springbootpractice.audit.entity.AuthAuditType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// 인증 감사 로그.
+// 요청 스레드는 bounded 큐에 offer 만 하고 (가득 차면 버리고 dropped 로 센다)
+// 백그라운드 writer 스레드 하나가 큐를 비우면서 batch-size 개가 모이거나 flush-interval 이 지나면
+// auth_audit 테이블에 JDBC batch insert 한다. (MariaDB 는 rewriteBatchedStatements=true 이면 multi-row insert 로 전송)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthAuditService {
+    private static final String INSERT_SQL = "insert into auth_audit (type, email, occurred_at) values (?, ?, ?)";
+    // auth_audit.email 컬럼 길이. 로그인 실패는 검증되지 않은 입력이므로 잘라서 넣는다.
+    private static final int MAX_EMAIL_LENGTH = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${audit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${audit.buffer-capacity:8192}")
+    private int bufferCapacity;
+
+    @Value("${audit.batch-size:200}")
+    private int batchSize;
+
+    @Value("${audit.flush-interval-millis:1000}")
+    private long flushIntervalMillis;
+
+    private BlockingQueue<AuthAuditEvent> buffer;
+    private Counter dropped;
+    private Counter written;
+    private Counter failed;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    protected void start() {
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        dropped = meterRegistry.counter("auth.audit.events", "result", "dropped");
+        written = meterRegistry.counter("auth.audit.events", "result", "written");
+        failed = meterRegistry.counter("auth.audit.events", "result", "failed");
+        meterRegistry.gauge("auth.audit.buffer.size", buffer, BlockingQueue::size);
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "auth-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // 요청 스레드에서 호출된다. 블로킹하지 않는다.
+    public void publish(AuthAuditType type, String email) {
+        if (!running) {
+            return;
+        }
+        if (email != null && email.length() > MAX_EMAIL_LENGTH) {
+            email = email.substring(0, MAX_EMAIL_LENGTH);
+        }
+        if (!buffer.offer(new AuthAuditEvent(type, email, LocalDateTime.now()))) {
+            dropped.increment();
+        }
+    }
+
+    // 관리자 일괄 작업(강제 로그아웃)용. 큐를 거치지 않고 호출 스레드에서 batch insert 하므로
+    // 큐가 가득 차도 버려지지 않는다. 한 번에 batch-size 개씩 나눠서 쓴다.
+    public void publishAll(AuthAuditType type, List<String> emails) {
+        if (!enabled || emails.isEmpty()) {
+            return;
+        }
+        LocalDateTime occurredAt = LocalDateTime.now();
+        List<AuthAuditEvent> batch = new ArrayList<>(Math.min(emails.size(), batchSize));
+        for (String email : emails) {
+            if (email != null && email.length() > MAX_EMAIL_LENGTH) {
+                email = email.substring(0, MAX_EMAIL_LENGTH);
+            }
+            batch.add(new AuthAuditEvent(type, email, occurredAt));
+            if (batch.size() >= batchSize) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void drainLoop() {
+        List<AuthAuditEvent> batch = new ArrayList<>(batchSize);
+        long lastFlush = System.currentTimeMillis();
+        while (running) {
+            try {
+                AuthAuditEvent event = buffer.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    batch.add(event);
+                    buffer.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            }
+
+            long now = System.currentTimeMillis();
+            if (batch.size() >= batchSize || (!batch.isEmpty() && now - lastFlush >= flushIntervalMillis)) {
+                flush(batch);
+                batch.clear();
+                lastFlush = now;
+            }
+        }
+        // 종료 시 남은 이벤트를 모두 기록한다.
+        buffer.drainTo(batch);
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AuthAuditEvent> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                ps.setString(1, event.getType().name());
+                ps.setString(2, event.getEmail());
+                ps.setTimestamp(3, Timestamp.valueOf(event.getOccurredAt()));
+            });
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            // DataAccessException 외의 예외로 writer 스레드가 조용히 죽지 않도록 모두 잡는다.
+            failed.increment(batch.size());
+            log.warn("AuthAuditService.flush failed to write {} events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    protected void stop() throws InterruptedException {
+        // writer 는 flush-interval 안에 poll 에서 깨어나 남은 이벤트를 기록하고 종료한다.
+        running = false;
+        if (writer != null) {
+            writer.join(flushIntervalMillis + TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.springbootpractice.broadcast.controller;
+
+import com.example.springbootpractice.broadcast.dto.BroadcastJobDto;
+import com.example.springbootpractice.broadcast.dto.BroadcastRequestDto;
+import com.example.springbootpractice.broadcast.service.BroadcastService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import javax.validation.Valid;
+
+@Controller
+@RequiredArgsConstructor
+public class BroadcastController {
+    private final BroadcastService broadcastService;
+
+    // 발송은 백그라운드에서 진행되며 진행 상황은 GET /admin/broadcasts/{id} 로 확인한다.
+    @ResponseBody
+    @PostMapping("/admin/broadcasts")
+    public ResponseEntity<BroadcastJobDto> start(@Valid @RequestBody BroadcastRequestDto request) {
+        try {
+            return new ResponseEntity<>(broadcastService.start(request), HttpStatus.ACCEPTED);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+    }
+
+    @ResponseBody
+    @GetMapping("/admin/broadcasts/{id}")
+    public ResponseEntity<BroadcastJobDto> get(@PathVariable Long id) {
+        return broadcastService.getJob(id)
+                .map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @ResponseBody
+    @PostMapping("/admin/broadcasts/{id}/cancel")
+    public ResponseEntity<BroadcastJobDto> cancel(@PathVariable Long id) {
+        return broadcastService.cancel(id)
+                .map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.springbootpractice.broadcast.dto;
+
+import com.example.springbootpractice.broadcast.entity.BroadcastJob;
+import com.example.springbootpractice.broadcast.entity.BroadcastStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class BroadcastJobDto {
+    private final Long id;
+    private final String title;
+    private final BroadcastStatus status;
+    private final long lastMemberId;
+    private final long sentCount;
+    private final long failedCount;
+    // 조회 시점의 전체 회원 수
+    private final long totalMembers;
+    // 현재 실행(재기동 후 포함) 기준 초당 발송 수. 실행 중이 아니면 0
+    private final double messagesPerSecond;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public BroadcastJobDto(BroadcastJob job, long totalMembers, double messagesPerSecond) {
+        this.id = job.getId();
+        this.title = job.getTitle();
+        this.status = job.getStatus();
+        this.lastMemberId = job.getLastMemberId();
+        this.sentCount = job.getSentCount();
+        this.failedCount = job.getFailedCount();
+        this.totalMembers = totalMembers;
+        this.messagesPerSecond = messagesPerSecond;
+        this.createdAt = job.getCreatedAt();
+        this.updatedAt = job.getUpdatedAt();
+    }
+}
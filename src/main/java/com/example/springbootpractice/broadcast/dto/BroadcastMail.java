@@ -0,0 +1,12 @@
+package com.example.springbootpractice.broadcast.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BroadcastMail {
+    private final String to;
+    private final String subject;
+    private final String text;
+}
@@ -0,0 +1,19 @@
+package com.example.springbootpractice.broadcast.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+@Getter
+@Setter
+public class BroadcastRequestDto {
+    @NotBlank
+    @Size(max = 200)
+    private String title;
+
+    // {{name}}, {{email}} 을 회원 정보로 치환한다.
+    @NotBlank
+    private String body;
+}
@@ -0,0 +1,78 @@
+package com.example.springbootpractice.broadcast.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 전체 회원 대상 안내 메일 발송 작업. 페이지 단위로 발송을 마칠 때마다 last_member_id 를 checkpoint 한다.
+@Entity
+@Table(name = "broadcast_job",
+        indexes = {@Index(name = "idx_broadcast_job_status", columnList = "status")})
+@Getter
+@NoArgsConstructor
+public class BroadcastJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    // {{name}}, {{email}} 치환 템플릿
+    @Lob
+    @Column(nullable = false)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BroadcastStatus status;
+
+    // 이 id 까지의 회원에게는 발송을 마쳤다.
+    @Column(name = "last_member_id", nullable = false)
+    private long lastMemberId;
+
+    @Column(name = "sent_count", nullable = false)
+    private long sentCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private long failedCount;
+
+    // 발송 중인 인스턴스와 선점 만료 시각. 여러 인스턴스가 같은 작업을 이어서 보내지 않도록
+    // BroadcastJobRepository.claim 의 조건부 UPDATE 로만 바꾸고 엔티티 save 로는 덮어쓰지 않는다.
+    @Column(name = "owner", length = 100, updatable = false)
+    private String owner;
+
+    @Column(name = "lease_until", updatable = false)
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public BroadcastJob(String title, String body, String owner, LocalDateTime leaseUntil) {
+        this.title = title;
+        this.body = body;
+        this.status = BroadcastStatus.RUNNING;
+        this.owner = owner;
+        this.leaseUntil = leaseUntil;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public void checkpoint(long lastMemberId, long sent, long failed) {
+        this.lastMemberId = lastMemberId;
+        this.sentCount += sent;
+        this.failedCount += failed;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void finish(BroadcastStatus status) {
+        this.status = status;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.springbootpractice.broadcast.entity;
+
+public enum BroadcastStatus {
+    // 발송 중. 재기동 시 last_member_id 다음부터 이어서 발송한다.
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
@@ -0,0 +1,46 @@
+package com.example.springbootpractice.broadcast.repository;
+
+import com.example.springbootpractice.broadcast.entity.BroadcastJob;
+import com.example.springbootpractice.broadcast.entity.BroadcastStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BroadcastJobRepository extends JpaRepository<BroadcastJob, Long> {
+
+    List<BroadcastJob> findByStatusOrderById(BroadcastStatus status);
+
+    // 발송 중(RUNNING)이고 아무도 갖고 있지 않거나, 내가 갖고 있거나, 선점이 만료된 작업만 가져온다.
+    // 1 이면 선점(또는 연장) 성공, 0 이면 다른 인스턴스가 실행 중이거나 더 이상 RUNNING 이 아니다.
+    @Transactional
+    @Modifying
+    @Query("update BroadcastJob j set j.owner = :owner, j.leaseUntil = :leaseUntil " +
+            "where j.id = :id and j.status = com.example.springbootpractice.broadcast.entity.BroadcastStatus.RUNNING " +
+            "and (j.owner is null or j.owner = :owner or j.leaseUntil < :now)")
+    int claim(@Param("id") Long id, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 선점하고 있는 RUNNING 작업에만 checkpoint 를 기록하고 lease 를 연장한다. 0 이면 선점을 잃었거나 취소되었다.
+    @Transactional
+    @Modifying
+    @Query("update BroadcastJob j set j.lastMemberId = :lastMemberId, j.sentCount = :sentCount, " +
+            "j.failedCount = :failedCount, j.updatedAt = :updatedAt, j.leaseUntil = :leaseUntil " +
+            "where j.id = :id and j.owner = :owner " +
+            "and j.status = com.example.springbootpractice.broadcast.entity.BroadcastStatus.RUNNING")
+    int checkpoint(@Param("id") Long id, @Param("owner") String owner, @Param("lastMemberId") long lastMemberId,
+                   @Param("sentCount") long sentCount, @Param("failedCount") long failedCount,
+                   @Param("updatedAt") LocalDateTime updatedAt, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 종료 중에 선점을 놓아서 다음 기동 시 lease 만료를 기다리지 않고 이어서 보낼 수 있게 한다.
+    @Transactional
+    @Modifying
+    @Query("update BroadcastJob j set j.owner = null, j.leaseUntil = null where j.id = :id and j.owner = :owner")
+    int release(@Param("id") Long id, @Param("owner") String owner);
+}
@@ -0,0 +1,219 @@
+package com.example.springbootpractice.broadcast.service;
+
+import com.example.springbootpractice.broadcast.dto.BroadcastMail;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// broadcast 메일 전용 SMTP 발송기.
+// broadcast.connections 개의 전용 스레드가 각자 SMTP 연결 하나를 열어 두고 재사용하며,
+// 전체 발송 속도는 broadcast.rate-per-second 로 제한한다.
+// 인증번호 메일(MailService)은 JavaMailSender 가 메시지마다 여는 별도 연결을 쓰므로
+// 이 발송기가 스레드나 연결을 점유해도 영향을 받지 않는다. (SMTP 서버의 동시 연결 한도에서 connections 만큼만 차지한다)
+@Slf4j
+@Component
+public class BroadcastMailSender {
+    private final JavaMailSender javaMailSender;
+
+    @Value("${broadcast.connections:2}")
+    private int connections;
+
+    @Value("${broadcast.rate-per-second:10}")
+    private double ratePerSecond;
+
+    @Value("${broadcast.from:${spring.mail.username:}}")
+    private String from;
+
+    private ExecutorService workers;
+    private final ThreadLocal<Transport> transport = new ThreadLocal<>();
+    // 종료 시 닫기 위해 열려 있는 연결을 모두 기억한다.
+    private final Queue<Transport> openTransports = new ConcurrentLinkedQueue<>();
+    // 종료 시 아직 실행되지 않은 발송을 끝내서 send() 가 기다리다 멈추지 않게 한다.
+    private final Set<CompletableFuture<Boolean>> pending = ConcurrentHashMap.newKeySet();
+    private long nextPermitNanos;
+
+    public BroadcastMailSender(JavaMailSender javaMailSender) {
+        this.javaMailSender = javaMailSender;
+    }
+
+    @PostConstruct
+    protected void init() {
+        nextPermitNanos = System.nanoTime();
+        AtomicInteger sequence = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(connections, runnable -> {
+            Thread thread = new Thread(runnable, "broadcast-mail-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    protected void close() throws InterruptedException {
+        workers.shutdownNow();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+        // shutdownNow 로 버려진 작업의 future 는 완료되지 않는다.
+        for (CompletableFuture<Boolean> result : pending) {
+            result.completeExceptionally(new InterruptedException("Broadcast mail sender is shutting down"));
+        }
+        Transport open;
+        while ((open = openTransports.poll()) != null) {
+            closeQuietly(open);
+        }
+    }
+
+    // 모든 메일의 발송을 마칠 때까지 기다리고 성공 건수를 반환한다. (실패는 로그만 남긴다)
+    // 기다리는 중에 interrupt 되면 남은 발송을 취소하고 InterruptedException 을 던진다.
+    public int send(List<BroadcastMail> mails) throws InterruptedException {
+        List<CompletableFuture<Boolean>> results = new ArrayList<>(mails.size());
+        for (BroadcastMail mail : mails) {
+            try {
+                CompletableFuture<Boolean> result = CompletableFuture.supplyAsync(() -> sendOne(mail), workers);
+                pending.add(result);
+                result.whenComplete((ignored, e) -> pending.remove(result));
+                results.add(result);
+            } catch (RejectedExecutionException e) {
+                throw new InterruptedException("Broadcast mail sender is shutting down");
+            }
+        }
+        int sent = 0;
+        try {
+            for (CompletableFuture<Boolean> result : results) {
+                // join 과 달리 get 은 interrupt 에 바로 반응한다. (BroadcastService 종료)
+                if (result.get()) {
+                    sent++;
+                }
+            }
+        } catch (InterruptedException e) {
+            // 아직 시작하지 않은 발송은 실행되지 않는다.
+            results.forEach(result -> result.cancel(false));
+            throw e;
+        } catch (ExecutionException e) {
+            // 발송 스레드가 interrupt 되었다. (종료 중)
+            results.forEach(result -> result.cancel(false));
+            throw new InterruptedException("Broadcast mail sender is shutting down");
+        }
+        return sent;
+    }
+
+    private boolean sendOne(BroadcastMail mail) {
+        try {
+            acquirePermit();
+            MimeMessage message = createMessage(mail);
+            try {
+                connection().sendMessage(message, message.getAllRecipients());
+            } catch (SendFailedException e) {
+                // 수신자 거부 등 메시지 자체의 문제. 연결은 그대로 쓴다.
+                log.debug("BroadcastMailSender rejected {}: {}", mail.getTo(), e.getMessage());
+                return false;
+            } catch (MessagingException | IllegalStateException e) {
+                // 연결이 끊겼거나 서버가 닫은 경우. 새 연결로 한 번 다시 보낸다.
+                discardConnection();
+                connection().sendMessage(message, message.getAllRecipients());
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (MessagingException | RuntimeException e) {
+            log.warn("BroadcastMailSender failed to send to {}: {}", mail.getTo(), e.getMessage());
+            discardConnection();
+            return false;
+        }
+    }
+
+    private MimeMessage createMessage(BroadcastMail mail) throws MessagingException {
+        MimeMessage message = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        if (StringUtils.hasText(from)) {
+            helper.setFrom(from);
+        }
+        helper.setTo(mail.getTo());
+        helper.setSubject(mail.getSubject());
+        helper.setText(mail.getText(), false);
+        // Transport.send 와 달리 sendMessage 는 헤더를 갱신하지 않는다.
+        message.saveChanges();
+        return message;
+    }
+
+    // 현재 발송 스레드의 SMTP 연결. 없거나 끊겼으면 새로 연다.
+    private Transport connection() throws MessagingException {
+        Transport current = transport.get();
+        if (current != null) {
+            return current;
+        }
+        if (!(javaMailSender instanceof JavaMailSenderImpl)) {
+            throw new IllegalStateException("Broadcast mail requires JavaMailSenderImpl");
+        }
+        JavaMailSenderImpl sender = (JavaMailSenderImpl) javaMailSender;
+        String username = sender.getUsername();
+        String password = sender.getPassword();
+        if ("".equals(username)) {
+            username = null;
+            if ("".equals(password)) {
+                password = null;
+            }
+        }
+        Transport opened = sender.getSession().getTransport(sender.getProtocol());
+        opened.connect(sender.getHost(), sender.getPort(), username, password);
+        transport.set(opened);
+        openTransports.add(opened);
+        return opened;
+    }
+
+    private void discardConnection() {
+        Transport current = transport.get();
+        if (current != null) {
+            transport.remove();
+            openTransports.remove(current);
+            closeQuietly(current);
+        }
+    }
+
+    // 발송 간격을 1/rate 초로 맞춘다. 여러 발송 스레드가 슬롯을 나눠 가진다.
+    private void acquirePermit() throws InterruptedException {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = nextPermitNanos - now > 0 ? nextPermitNanos : now;
+            nextPermitNanos = slot + interval;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private void closeQuietly(Transport open) {
+        try {
+            open.close();
+        } catch (MessagingException e) {
+            log.debug("BroadcastMailSender failed to close SMTP connection: {}", e.getMessage());
+        }
+    }
+}
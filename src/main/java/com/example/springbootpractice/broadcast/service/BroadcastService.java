@@ -0,0 +1,239 @@
+package com.example.springbootpractice.broadcast.service;
+
+import com.example.springbootpractice.broadcast.dto.BroadcastJobDto;
+import com.example.springbootpractice.broadcast.dto.BroadcastMail;
+import com.example.springbootpractice.broadcast.dto.BroadcastRequestDto;
+import com.example.springbootpractice.broadcast.entity.BroadcastJob;
+import com.example.springbootpractice.broadcast.entity.BroadcastStatus;
+import com.example.springbootpractice.broadcast.repository.BroadcastJobRepository;
+import com.example.springbootpractice.member.dto.MemberSummaryDto;
+import com.example.springbootpractice.member.repository.MemberRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// 관리자가 시작하는 전체 회원 안내 메일 발송.
+// 회원을 id 순 keyset 페이지로 읽어 템플릿을 채우고 BroadcastMailSender 로 보낸 뒤
+// 페이지마다 broadcast_job.last_member_id 를 checkpoint 한다.
+// 재기동 시 RUNNING 상태의 작업은 마지막 checkpoint 다음 회원부터 이어서 보낸다.
+// (checkpoint 직전 페이지는 다시 보낼 수 있으므로 최대 page-size 명이 메일을 두 번 받을 수 있다)
+// 여러 인스턴스가 같은 작업을 이어서 보내지 않도록 owner/lease_until 을 조건부 UPDATE 로 선점하고
+// checkpoint 때마다 연장한다. checkpoint 가 반영되지 않으면 (다른 인스턴스가 가져갔거나 취소됨) 바로 멈춘다.
+@Slf4j
+@Service
+public class BroadcastService {
+    private final BroadcastJobRepository broadcastJobRepository;
+    private final MemberRepository memberRepository;
+    private final BroadcastMailSender broadcastMailSender;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    @Value("${broadcast.page-size:200}")
+    private int pageSize;
+
+    // 한 페이지 발송보다 충분히 길어야 한다. (page-size / rate-per-second)
+    @Value("${broadcast.lease:5m}")
+    private Duration lease;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // 작업은 한 번에 하나씩 실행한다.
+    private ExecutorService runner;
+    // 대기 중이거나 실행 중인 작업
+    private final Map<Long, BroadcastRun> runs = new ConcurrentHashMap<>();
+
+    public BroadcastService(BroadcastJobRepository broadcastJobRepository,
+                            MemberRepository memberRepository,
+                            BroadcastMailSender broadcastMailSender,
+                            MeterRegistry meterRegistry) {
+        this.broadcastJobRepository = broadcastJobRepository;
+        this.memberRepository = memberRepository;
+        this.broadcastMailSender = broadcastMailSender;
+        this.sentCounter = meterRegistry.counter("mail.broadcast.messages", "result", "sent");
+        this.failedCounter = meterRegistry.counter("mail.broadcast.messages", "result", "failed");
+    }
+
+    @PostConstruct
+    protected void init() {
+        runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "broadcast-runner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 실행 중인 작업은 interrupt 되어 RUNNING 상태로 남고 다음 기동 시 이어서 발송된다.
+    // BroadcastMailSender 보다 먼저 종료되므로 (의존하는 쪽이 먼저 destroy) 발송 대기 중인 send 를 interrupt 로 깨운다.
+    @PreDestroy
+    protected void stop() throws InterruptedException {
+        runner.shutdownNow();
+        runner.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        for (BroadcastJob job : broadcastJobRepository.findByStatusOrderById(BroadcastStatus.RUNNING)) {
+            if (!claim(job.getId())) {
+                log.info("Broadcast {} is owned by another instance", job.getId());
+                continue;
+            }
+            log.info("Resuming broadcast {} after member {}", job.getId(), job.getLastMemberId());
+            submit(job.getId());
+        }
+    }
+
+    public synchronized BroadcastJobDto start(BroadcastRequestDto request) {
+        if (!runs.isEmpty()) {
+            throw new IllegalStateException("A broadcast is already running.");
+        }
+        BroadcastJob job = broadcastJobRepository.save(new BroadcastJob(request.getTitle(), request.getBody(), instanceId, leaseUntil()));
+        submit(job.getId());
+        return toDto(job);
+    }
+
+    public Optional<BroadcastJobDto> getJob(Long id) {
+        return broadcastJobRepository.findById(id).map(this::toDto);
+    }
+
+    // 실행 중이면 현재 페이지를 마친 뒤 멈춘다.
+    public Optional<BroadcastJobDto> cancel(Long id) {
+        BroadcastRun run = runs.get(id);
+        if (run != null) {
+            run.cancelled = true;
+        }
+        return broadcastJobRepository.findById(id).map(job -> {
+            if (run == null && job.getStatus() == BroadcastStatus.RUNNING) {
+                // 이 노드에서 실행 중이 아닌 작업은 바로 취소한다.
+                // 다른 인스턴스가 실행 중이면 그쪽은 현재 페이지의 checkpoint 가 반영되지 않아서 멈춘다.
+                job.finish(BroadcastStatus.CANCELLED);
+                job = broadcastJobRepository.save(job);
+            }
+            return toDto(job);
+        });
+    }
+
+    private void submit(Long jobId) {
+        BroadcastRun run = new BroadcastRun();
+        runs.put(jobId, run);
+        runner.execute(() -> {
+            try {
+                run(jobId, run);
+            } finally {
+                runs.remove(jobId);
+            }
+        });
+    }
+
+    private void run(Long jobId, BroadcastRun run) {
+        BroadcastJob job = broadcastJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != BroadcastStatus.RUNNING) {
+            return;
+        }
+        MailTemplate subject = MailTemplate.compile(job.getTitle());
+        MailTemplate body = MailTemplate.compile(job.getBody());
+        run.startedAtNanos = System.nanoTime();
+        run.started = true;
+        long afterId = job.getLastMemberId();
+        try {
+            while (!run.cancelled) {
+                // 종료(stop) 중이면 다음 페이지를 시작하지 않는다.
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("Broadcast runner is shutting down");
+                }
+                List<MemberSummaryDto> members = memberRepository.findPageAfter(afterId, PageRequest.of(0, pageSize));
+                if (members.isEmpty()) {
+                    job.finish(BroadcastStatus.COMPLETED);
+                    break;
+                }
+                List<BroadcastMail> mails = new ArrayList<>(members.size());
+                for (MemberSummaryDto member : members) {
+                    mails.add(new BroadcastMail(member.getEmail(), subject.render(member), body.render(member)));
+                }
+                int sent = broadcastMailSender.send(mails);
+                int failed = mails.size() - sent;
+                sentCounter.increment(sent);
+                failedCounter.increment(failed);
+                run.sent += sent;
+
+                afterId = members.get(members.size() - 1).getId();
+                job.checkpoint(afterId, sent, failed);
+                if (!checkpoint(job)) {
+                    log.warn("Broadcast {} lost its lease after member {}; stopping", jobId, afterId);
+                    return;
+                }
+            }
+            if (run.cancelled && job.getStatus() == BroadcastStatus.RUNNING) {
+                job.finish(BroadcastStatus.CANCELLED);
+            }
+            log.info("Broadcast {} {}: sent {}, failed {}", jobId, job.getStatus(), job.getSentCount(), job.getFailedCount());
+        } catch (InterruptedException e) {
+            // 종료 중. RUNNING 으로 남겨 두고 선점을 놓아서 다음 기동 시 바로 이어서 보낸다.
+            release(jobId);
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            log.error("Broadcast {} failed after member {}", jobId, afterId, e);
+            job.finish(BroadcastStatus.FAILED);
+        }
+        broadcastJobRepository.save(job);
+    }
+
+    private boolean claim(Long jobId) {
+        return broadcastJobRepository.claim(jobId, instanceId, LocalDateTime.now(), leaseUntil()) == 1;
+    }
+
+    // checkpoint 와 lease 연장을 선점한 경우에만 한 번의 UPDATE 로 반영한다.
+    private boolean checkpoint(BroadcastJob job) {
+        return broadcastJobRepository.checkpoint(job.getId(), instanceId, job.getLastMemberId(),
+                job.getSentCount(), job.getFailedCount(), job.getUpdatedAt(), leaseUntil()) == 1;
+    }
+
+    private void release(Long jobId) {
+        try {
+            broadcastJobRepository.release(jobId, instanceId);
+        } catch (RuntimeException e) {
+            // 놓지 못하면 lease 가 만료된 뒤 다른 인스턴스가 가져간다.
+            log.warn("Broadcast {} could not release its lease: {}", jobId, e.getMessage());
+        }
+    }
+
+    private LocalDateTime leaseUntil() {
+        return LocalDateTime.now().plus(lease);
+    }
+
+    private BroadcastJobDto toDto(BroadcastJob job) {
+        BroadcastRun run = runs.get(job.getId());
+        double messagesPerSecond = 0;
+        if (run != null && run.started) {
+            double elapsedSeconds = (System.nanoTime() - run.startedAtNanos) / 1e9;
+            messagesPerSecond = elapsedSeconds > 0 ? run.sent / elapsedSeconds : 0;
+        }
+        return new BroadcastJobDto(job, memberRepository.count(), messagesPerSecond);
+    }
+
+    private static class BroadcastRun {
+        private volatile boolean cancelled;
+        private volatile boolean started;
+        private volatile long startedAtNanos;
+        private volatile long sent;
+    }
+}
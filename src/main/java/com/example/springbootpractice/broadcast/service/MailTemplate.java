@@ -0,0 +1,63 @@
+package com.example.springbootpractice.broadcast.service;
+
+import com.example.springbootpractice.member.dto.MemberSummaryDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// {{name}}, {{email}} 치환 템플릿. 작업 시작 시 한 번 분해해 두고 회원마다 이어붙이기만 한다.
+// 알 수 없는 {{...}} 는 그대로 남긴다.
+public class MailTemplate {
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final List<Function<MemberSummaryDto, String>> parts;
+    private final int estimatedLength;
+
+    private MailTemplate(List<Function<MemberSummaryDto, String>> parts, int estimatedLength) {
+        this.parts = parts;
+        this.estimatedLength = estimatedLength;
+    }
+
+    public static MailTemplate compile(String template) {
+        List<Function<MemberSummaryDto, String>> parts = new ArrayList<>();
+        int position = 0;
+        while (position < template.length()) {
+            int open = template.indexOf(OPEN, position);
+            int close = open < 0 ? -1 : template.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                String literal = template.substring(position);
+                parts.add(member -> literal);
+                break;
+            }
+            if (open > position) {
+                String literal = template.substring(position, open);
+                parts.add(member -> literal);
+            }
+            String placeholder = template.substring(open, close + CLOSE.length());
+            parts.add(variable(template.substring(open + OPEN.length(), close).trim(), placeholder));
+            position = close + CLOSE.length();
+        }
+        return new MailTemplate(parts, template.length() + 32);
+    }
+
+    public String render(MemberSummaryDto member) {
+        StringBuilder builder = new StringBuilder(estimatedLength);
+        for (Function<MemberSummaryDto, String> part : parts) {
+            builder.append(part.apply(member));
+        }
+        return builder.toString();
+    }
+
+    private static Function<MemberSummaryDto, String> variable(String name, String placeholder) {
+        switch (name) {
+            case "name":
+                return MemberSummaryDto::getName;
+            case "email":
+                return MemberSummaryDto::getEmail;
+            default:
+                return member -> placeholder;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.springbootpractice.common;
+
+public final class PhoneNumberUtils {
+
+    private PhoneNumberUtils() {
+    }
+
+    // 전화번호를 저장/조회용 표준 형태로 바꾼다.
+    // 숫자만 남기고, 국가번호 표기를 위한 맨 앞의 '+' 는 유지한다.
+    // 예) "010-1234-5678" -> "01012345678", "+82 10 1234 5678" -> "+821012345678"
+    public static String normalize(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                builder.append(c);
+            } else if (c == '+' && builder.length() == 0) {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.springbootpractice.common.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// AIMD(additive increase, multiplicative decrease) 동시 실행 한도.
+// 처리 시간이 latency-threshold 이내면 limit 만큼 성공할 때마다 1 늘리고 (요청마다 1/limit),
+// 넘거나 5xx 로 끝나면 backoff-ratio 를 곱해 줄인다.
+// 한도의 절반도 쓰지 않는 동안에는 늘리지 않는다. (부하가 없을 때 한도가 max 까지 부풀지 않도록)
+public class AimdLimit {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    public AimdLimit(ConcurrencyLimitProperties properties) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.getInitialLimit()));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // tryAcquire 가 true 였던 요청이 끝나면 반드시 호출한다.
+    public void release(long latencyNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (current * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
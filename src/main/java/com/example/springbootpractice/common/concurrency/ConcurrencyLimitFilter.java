@@ -0,0 +1,82 @@
+package com.example.springbootpractice.common.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+// bcrypt, SMTP 처럼 비싼 POST 요청의 동시 실행 수를 엔드포인트 분류별 AimdLimit 으로 제한한다.
+// 한도를 넘는 요청은 바로 503 + Retry-After 로 거절해서 Tomcat 스레드를 다른 요청(조회 등)에 남겨 둔다.
+// 지표: http.server.concurrency.limit / in_flight (gauge), http.server.concurrency.rejected (counter)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final ConcurrencyLimitProperties properties;
+    // servlet path -> 분류. 같은 분류의 경로는 한도를 공유한다.
+    private final Map<String, String> endpointClasses;
+    private final Map<String, AimdLimit> limits = new HashMap<>();
+    private final Map<String, Counter> rejected = new HashMap<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                  Map<String, String> endpointClasses,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.endpointClasses = endpointClasses;
+        for (String endpointClass : endpointClasses.values()) {
+            if (limits.containsKey(endpointClass)) {
+                continue;
+            }
+            AimdLimit limit = new AimdLimit(properties);
+            limits.put(endpointClass, limit);
+            Gauge.builder("http.server.concurrency.limit", limit, AimdLimit::getLimit)
+                    .tag("endpoint", endpointClass)
+                    .strongReference(true)
+                    .register(meterRegistry);
+            Gauge.builder("http.server.concurrency.in_flight", limit, AimdLimit::getInFlight)
+                    .tag("endpoint", endpointClass)
+                    .strongReference(true)
+                    .register(meterRegistry);
+            rejected.put(endpointClass, meterRegistry.counter("http.server.concurrency.rejected", "endpoint", endpointClass));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || !endpointClasses.containsKey(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String endpointClass = endpointClasses.get(request.getServletPath());
+        AimdLimit limit = limits.get(endpointClass);
+        if (!limit.tryAcquire()) {
+            rejected.get(endpointClass).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", String.valueOf(Math.max(properties.getRetryAfter().toSeconds(), 1)));
+            return;
+        }
+
+        long started = System.nanoTime();
+        // 컨트롤러 예외(잘못된 비밀번호 등)는 과부하 신호가 아니므로 처리 시간만 반영한다.
+        boolean failed = false;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limit.release(System.nanoTime() - started, failed);
+        }
+    }
+
+    AimdLimit getLimit(String endpointClass) {
+        return limits.get(endpointClass);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.springbootpractice.common.concurrency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// concurrency-limit.* 설정. 엔드포인트 분류마다 같은 값으로 별도의 AimdLimit 을 만든다.
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 10;
+
+    private int minLimit = 2;
+
+    private int maxLimit = 50;
+
+    // 처리 시간이 이 값을 넘으면 과부하로 보고 limit 을 줄인다.
+    private Duration latencyThreshold = Duration.ofSeconds(1);
+
+    // 과부하 시 limit 에 곱하는 비율
+    private double backoffRatio = 0.9;
+
+    // 거절 응답(503)의 Retry-After
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,188 @@
+package com.example.springbootpractice.common.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+// Idempotency-Key 헤더가 있는 POST 요청의 첫 응답을 저장하고 같은 키의 재시도에는 저장된 응답을 돌려준다.
+// 5xx 응답과 예외는 저장하지 않으므로 재시도가 다시 처리된다.
+// Redis 를 사용할 수 없으면 멱등 처리 없이 요청을 그대로 처리한다.
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyStore idempotencyStore;
+    private final Set<String> paths;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, Set<String> paths) {
+        this.idempotencyStore = idempotencyStore;
+        this.paths = paths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY) == null
+                || !paths.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        // 본문 전체를 메모리에 읽으므로 크기를 제한한다. Content-Length 가 없으면(chunked) 한도 + 1 바이트까지만 읽어 본다.
+        long maxBodySize = idempotencyStore.getMaxBodySize().toBytes();
+        if (request.getContentLengthLong() > maxBodySize) {
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes((int) Math.min(maxBodySize + 1, Integer.MAX_VALUE));
+        if (body.length > maxBodySize) {
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        HttpServletRequest cachedRequest = new CachedBodyRequest(request, body);
+        String fingerprint = sha256(body);
+        String key = request.getServletPath() + " " + idempotencyKey;
+
+        IdempotencyStore.Claim claim;
+        try {
+            claim = idempotencyStore.claim(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        } catch (IllegalStateException e) {
+            log.debug("IdempotencyFilter bypassed for {}: {}", key, e.getMessage());
+            filterChain.doFilter(cachedRequest, response);
+            return;
+        }
+
+        if (claim.getResponse() != null) {
+            replay(claim.getResponse(), fingerprint, response);
+            return;
+        }
+        if (!claim.isOwner()) {
+            // 같은 키의 요청이 아직 처리 중이다.
+            response.setStatus(HttpStatus.CONFLICT.value());
+            response.setHeader("Retry-After", "1");
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        IdempotentResponse result = null;
+        try {
+            filterChain.doFilter(cachedRequest, cachingResponse);
+            if (cachingResponse.getStatus() < 500) {
+                result = new IdempotentResponse(cachingResponse.getStatus(), cachingResponse.getContentType(),
+                        fingerprint, cachingResponse.getContentAsByteArray());
+            }
+        } finally {
+            idempotencyStore.finish(key, result);
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotentResponse stored, String fingerprint, HttpServletResponse response) throws IOException {
+        if (!stored.getFingerprint().equals(fingerprint)) {
+            // 같은 키로 다른 요청을 보냈다.
+            response.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
+            return;
+        }
+        response.setStatus(stored.getStatus());
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 지문 계산을 위해 읽은 본문을 컨트롤러가 다시 읽을 수 있게 한다.
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // 본문은 이미 메모리에 있으므로 비동기 읽기도 바로 끝까지 읽을 수 있다고 알린다.
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataAvailable();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.springbootpractice.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Idempotency-Key 별 첫 응답을 Redis 에 저장한다. ( key = "Idempotency <path> <key>" )
+// 처리 중에는 PENDING 표시를 lock-ttl 동안 두고, 끝나면 응답(JSON)으로 바꿔 ttl 동안 보관한다.
+// 같은 노드의 동시 중복 요청은 진행 중인 요청의 결과를 기다리고,
+// 다른 노드에서 처리 중이면 PENDING 이 응답으로 바뀔 때까지 poll-interval 간격으로 확인한다.
+@Slf4j
+@Component
+public class IdempotencyStore {
+    private static final String KEY_PREFIX = "Idempotency ";
+    private static final String PENDING = "PENDING";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    // 진행 중인 요청 (null 로 완료되면 실패해서 저장하지 않은 것)
+    private final Map<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${idempotency.ttl:24h}")
+    private Duration ttl;
+
+    // 처리 중 표시의 유효시간. 노드가 죽어도 이 시간이 지나면 다시 처리할 수 있다.
+    @Value("${idempotency.lock-ttl:30s}")
+    private Duration lockTtl;
+
+    // 진행 중인 중복 요청을 기다리는 최대 시간
+    @Value("${idempotency.wait-timeout:10s}")
+    private Duration waitTimeout;
+
+    @Value("${idempotency.poll-interval:50ms}")
+    private Duration pollInterval;
+
+    // 지문 계산을 위해 메모리에 읽어 두는 요청 본문의 최대 크기. 넘으면 IdempotencyFilter 가 413 으로 거절한다.
+    @Value("${idempotency.max-body-size:64KB}")
+    private DataSize maxBodySize;
+
+    public IdempotencyStore(RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public DataSize getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    // 이 요청이 처리해야 하면 owner, 이미 처리된 요청이면 저장된 응답, wait-timeout 안에 끝나지 않으면 timedOut.
+    // owner 는 처리 후 반드시 finish 를 호출해야 한다.
+    public Claim claim(String key) throws InterruptedException {
+        String redisKey = KEY_PREFIX + key;
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            CompletableFuture<IdempotentResponse> own = new CompletableFuture<>();
+            CompletableFuture<IdempotentResponse> existing = inFlight.putIfAbsent(key, own);
+            if (existing != null) {
+                IdempotentResponse response = awaitLocal(existing, deadline);
+                if (response != null) {
+                    return Claim.replay(response);
+                }
+                if (deadline - System.nanoTime() <= 0) {
+                    return Claim.timedOut();
+                }
+                // 진행 중이던 요청이 실패했다. 다시 선점을 시도한다.
+                continue;
+            }
+
+            try {
+                if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(redisKey, PENDING, lockTtl))) {
+                    return Claim.owner();
+                }
+                // 다른 노드가 처리 중이거나 이미 처리했다.
+                inFlight.remove(key, own);
+                own.complete(null);
+                Object stored = redisTemplate.opsForValue().get(redisKey);
+                if (stored != null && !PENDING.equals(stored)) {
+                    return Claim.replay(objectMapper.readValue(stored.toString(), IdempotentResponse.class));
+                }
+            } catch (RuntimeException | JsonProcessingException e) {
+                inFlight.remove(key, own);
+                own.complete(null);
+                throw new IllegalStateException("Idempotency store is unavailable", e);
+            }
+            if (deadline - System.nanoTime() <= 0) {
+                return Claim.timedOut();
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(pollInterval.toNanos(), deadline - System.nanoTime()));
+        }
+    }
+
+    // response 가 null 이면 저장하지 않고 처리 중 표시만 지워서 재시도가 다시 처리되게 한다.
+    public void finish(String key, IdempotentResponse response) {
+        String redisKey = KEY_PREFIX + key;
+        try {
+            if (response != null) {
+                redisTemplate.opsForValue().set(redisKey, objectMapper.writeValueAsString(response), ttl);
+            } else {
+                redisTemplate.delete(redisKey);
+            }
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("IdempotencyStore.finish failed for {}: {}", key, e.getMessage());
+        } finally {
+            CompletableFuture<IdempotentResponse> own = inFlight.remove(key);
+            if (own != null) {
+                own.complete(response);
+            }
+        }
+    }
+
+    private IdempotentResponse awaitLocal(CompletableFuture<IdempotentResponse> existing, long deadline) throws InterruptedException {
+        try {
+            return existing.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        }
+    }
+
+    public static final class Claim {
+        private static final Claim OWNER = new Claim(true, null);
+        private static final Claim TIMED_OUT = new Claim(false, null);
+
+        private final boolean owner;
+        private final IdempotentResponse response;
+
+        private Claim(boolean owner, IdempotentResponse response) {
+            this.owner = owner;
+            this.response = response;
+        }
+
+        static Claim owner() {
+            return OWNER;
+        }
+
+        static Claim replay(IdempotentResponse response) {
+            return new Claim(false, response);
+        }
+
+        static Claim timedOut() {
+            return TIMED_OUT;
+        }
+
+        public boolean isOwner() {
+            return owner;
+        }
+
+        // 저장된 응답. owner 이거나 timedOut 이면 null
+        public IdempotentResponse getResponse() {
+            return response;
+        }
+    }
+}
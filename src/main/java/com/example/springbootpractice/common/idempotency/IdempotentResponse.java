@@ -0,0 +1,17 @@
+package com.example.springbootpractice.common.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// Idempotency-Key 로 저장하는 첫 응답. 같은 키의 재시도는 이 응답을 그대로 돌려받는다.
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotentResponse {
+    private int status;
+    private String contentType;
+    // 요청 본문의 SHA-256. 같은 키로 다른 본문을 보내면 거부한다.
+    private String fingerprint;
+    private byte[] body;
+}
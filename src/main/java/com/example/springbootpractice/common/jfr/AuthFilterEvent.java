@@ -0,0 +1,23 @@
+package com.example.springbootpractice.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JwtAuthenticationFilter 의 인증 처리 구간 (다음 필터/컨트롤러 실행 시간은 포함하지 않는다)
+@Name("springbootpractice.AuthFilter")
+@Label("JWT Authentication Filter")
+@Category({"Spring Boot Practice", "Authentication"})
+@Description("Token resolution, verification, revocation check and user lookup in JwtAuthenticationFilter")
+@StackTrace(false)
+public class AuthFilterEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    // anonymous, authenticated, renewed, revoked, invalid, refreshed, refresh-rejected
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,24 @@
+package com.example.springbootpractice.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JwtProvider 의 서명(sign)과 검증(verify)
+@Name("springbootpractice.Jwt")
+@Label("JWT Sign/Verify")
+@Category({"Spring Boot Practice", "Authentication"})
+@Description("HMAC signing and verification of JWTs in JwtProvider")
+@StackTrace(false)
+public class JwtEvent extends Event {
+    // sign, verify
+    @Label("Operation")
+    public String operation;
+
+    // sign: Access_Token / Refresh_Token, verify: TokenStatus
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,23 @@
+package com.example.springbootpractice.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// MailService.sendEmail (SMTP 전송)
+@Name("springbootpractice.MailSend")
+@Label("Mail Send")
+@Category({"Spring Boot Practice", "Mail"})
+@Description("SMTP delivery in MailService.sendEmail")
+@StackTrace(false)
+public class MailSendEvent extends Event {
+    @Label("Title")
+    public String title;
+
+    // sent, failed
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,54 @@
+package com.example.springbootpractice.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.function.Supplier;
+
+// MemberServiceImpl 의 Redis 호출 (RT:, AuthCode, 토큰 폐기)
+@Name("springbootpractice.RedisCall")
+@Label("Redis Call")
+@Category({"Spring Boot Practice", "Redis"})
+@Description("Redis commands issued by the member service")
+@StackTrace(false)
+public class RedisCallEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    // ok, miss (null 결과), error
+    @Label("Outcome")
+    public String outcome;
+
+    // 기록 중이 아니면 시간 측정과 필드 설정 없이 call 만 실행된다.
+    public static <T> T record(String operation, Supplier<T> call) {
+        RedisCallEvent event = new RedisCallEvent();
+        if (!event.isEnabled()) {
+            return call.get();
+        }
+        event.begin();
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = result == null ? "miss" : "ok";
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    public static void run(String operation, Runnable call) {
+        record(operation, () -> {
+            call.run();
+            return Boolean.TRUE;
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.springbootpractice.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// UserDetailServiceImpl.loadUserByUsername
+@Name("springbootpractice.UserLookup")
+@Label("User Lookup")
+@Category({"Spring Boot Practice", "Authentication"})
+@Description("Member lookup for Spring Security in UserDetailServiceImpl")
+@StackTrace(false)
+public class UserLookupEvent extends Event {
+    // found, not-found
+    @Label("Outcome")
+    public String outcome;
+}
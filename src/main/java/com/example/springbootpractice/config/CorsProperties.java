@@ -0,0 +1,55 @@
+package com.example.springbootpractice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// cors.* 설정. 값이 없으면 기존에 SecurityConfig 에 하드코딩되어 있던 값을 사용한다.
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "cors")
+public class CorsProperties {
+
+    private List<String> allowedOrigins = List.of(
+            "http://192.168.0.3:8083/",
+            "http://localhost:8083/"
+    );
+
+    private List<String> allowedMethods = List.of("PUT", "GET", "POST", "OPTIONS", "DELETE", "PATCH");
+
+    private List<String> exposedHeaders = List.of(
+            "Authorization",
+            "X-CSRF-TOKEN",
+            // JwtAuthenticationFilter 가 만료 직전 access token 을 재발급해서 담는 헤더
+            "Access_Token"
+    );
+
+    private List<String> allowedHeaders = List.of(
+            "Access-Control-Allow-Headers",
+            "Access-Control-Allow-Origin",
+            "Access-Control-Expose-Headers",
+            "Access-control-allow-credentials",
+            "Accept",
+            "X-Requested-With",
+            "Authorization",
+            "Cache-Control",
+            "Content-Type",
+            "Expires",
+            "Last-Modified",
+            "Content-Language",
+            "Pragma",
+            "Baeldung-Allowed",
+            "Credential",
+            "X-AUTH-TOKEN",
+            "X-CSRF-TOKEN"
+    );
+
+    private boolean allowCredentials = true;
+
+    // 브라우저가 preflight 결과를 캐시하는 시간(초)
+    private long maxAge = 3600L;
+}
@@ -0,0 +1,40 @@
+package com.example.springbootpractice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// datasource.routing.* 설정. enabled=true 일 때만 읽기/쓰기 분리 DataSource 를 사용한다.
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // 같은 사용자가 쓰기를 한 뒤 이 시간 동안은 읽기도 primary 로 보낸다. (read-your-writes)
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // 복제 지연이 이 값(초)을 넘는 replica 는 라우팅에서 제외한다.
+    private long maxLagSeconds = 5;
+
+    // 복제 지연 조회 쿼리. 예) MariaDB: SHOW SLAVE STATUS (Seconds_Behind_Master 컬럼을 읽는다)
+    // 없으면 커넥션 유효성만 확인한다.
+    private String lagQuery;
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
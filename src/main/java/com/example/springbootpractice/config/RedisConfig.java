@@ -1,40 +1,155 @@
 package com.example.springbootpractice.config;
 
+import com.example.springbootpractice.member.security.TokenStore;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+import java.util.HashSet;
+
 @RequiredArgsConstructor
 @Configuration
 @EnableRedisRepositories
 public class RedisConfig {
     private final RedisProperties redisProperties;
 
+    // cluster 토폴로지 주기적 갱신 간격 (MOVED/ASK, 재연결 등 adaptive trigger 는 항상 켜져 있다)
+    @Value("${redis.topology-refresh-period:30s}")
+    private Duration topologyRefreshPeriod;
+
+    // spring.redis.timeout 이 없을 때의 command timeout. 요청 경로에서 Redis 지연이 그대로 전파되지 않도록 짧게 둔다.
+    @Value("${redis.command-timeout:500ms}")
+    private Duration defaultCommandTimeout;
+
     // lettuce
-    // RedisConnectionFactory 인터페이스를 통해 LettuceConnectionFactory를 생성하여 반환한다.
-    // RedisProperties로 yaml에 저장한 host, post를 가지고 와서 연결한다.
+    // RedisProperties 에 cluster.nodes 가 있으면 Cluster, sentinel.master 가 있으면 Sentinel,
+    // 둘 다 없으면 host/port 의 Standalone 으로 연결한다.
+    // 쓰기와 read-after-write 가 필요한 조회(RT:, AuthCode)는 항상 primary 로 보낸다.
     @Bean
+    @Primary
     public RedisConnectionFactory redisConnectionFactory(){
-        LettuceConnectionFactory lettuceConnectionFactory = new LettuceConnectionFactory();
-        lettuceConnectionFactory.setHostName(redisProperties.getHost());
-        lettuceConnectionFactory.setPort(redisProperties.getPort());
-        lettuceConnectionFactory.setPassword(redisProperties.getPassword());
-        return lettuceConnectionFactory;
+        return new LettuceConnectionFactory(redisConfiguration(), clientConfiguration(ReadFrom.UPSTREAM));
+    }
+
+    // 블랙리스트 조회처럼 약간의 복제 지연을 허용하는 읽기 전용 조회는 replica 로 보낸다.
+    // replica 가 없거나 모두 내려가 있으면 primary 에서 읽는다.
+    @Bean
+    public RedisConnectionFactory replicaRedisConnectionFactory(){
+        return new LettuceConnectionFactory(redisConfiguration(), clientConfiguration(ReadFrom.REPLICA_PREFERRED));
     }
 
     // setKeySerializer, setValueSerializer 설정으로 redis-cli를 통해 직접 데이터를 보는게 가능하다.
     @Bean
+    @Primary
     public RedisTemplate<String, Object> redisTemplate() {
+        return createRedisTemplate(redisConnectionFactory());
+    }
+
+    @Bean
+    public RedisTemplate<String, Object> replicaRedisTemplate() {
+        return createRedisTemplate(replicaRedisConnectionFactory());
+    }
+
+    // 다른 노드의 토큰/계정 폐기 알림을 구독해서 TokenStore 의 로컬 폐기 목록에 반영한다.
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(TokenStore tokenStore) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        container.addMessageListener(tokenStore::onRevocationMessage, new ChannelTopic(TokenStore.REVOCATION_CHANNEL));
+        container.addMessageListener(tokenStore::onAccountRevocationMessage, new ChannelTopic(TokenStore.ACCOUNT_REVOCATION_CHANNEL));
+        return container;
+    }
+
+    private RedisTemplate<String, Object> createRedisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
         redisTemplate.setKeySerializer(new StringRedisSerializer());
         redisTemplate.setValueSerializer(new StringRedisSerializer());
-        redisTemplate.setConnectionFactory(redisConnectionFactory());
+        redisTemplate.setConnectionFactory(connectionFactory);
         return redisTemplate;
     }
+
+    private RedisConfiguration redisConfiguration() {
+        RedisPassword password = RedisPassword.of(redisProperties.getPassword());
+
+        if (isCluster(redisProperties)) {
+            RedisProperties.Cluster cluster = redisProperties.getCluster();
+            RedisClusterConfiguration configuration = new RedisClusterConfiguration(cluster.getNodes());
+            if (cluster.getMaxRedirects() != null) {
+                configuration.setMaxRedirects(cluster.getMaxRedirects());
+            }
+            configuration.setPassword(password);
+            return configuration;
+        }
+
+        if (isSentinel(redisProperties)) {
+            RedisProperties.Sentinel sentinel = redisProperties.getSentinel();
+            // Sentinel 의 +switch-master 이벤트를 구독하므로 failover 시 새 primary 로 자동 전환된다.
+            RedisSentinelConfiguration configuration =
+                    new RedisSentinelConfiguration(sentinel.getMaster(), new HashSet<>(sentinel.getNodes()));
+            configuration.setPassword(password);
+            configuration.setSentinelPassword(RedisPassword.of(sentinel.getPassword()));
+            return configuration;
+        }
+
+        // Standalone 에서도 ReadFrom 이 지정되면 INFO replication 으로 replica 를 찾아 사용한다.
+        RedisStandaloneConfiguration configuration =
+                new RedisStandaloneConfiguration(redisProperties.getHost(), redisProperties.getPort());
+        configuration.setPassword(password);
+        return configuration;
+    }
+
+    private LettuceClientConfiguration clientConfiguration(ReadFrom readFrom) {
+        Duration commandTimeout = redisProperties.getTimeout() != null ? redisProperties.getTimeout() : defaultCommandTimeout;
+        return LettuceClientConfiguration.builder()
+                .readFrom(readFrom)
+                .clientOptions(clientOptions())
+                .commandTimeout(commandTimeout)
+                .build();
+    }
+
+    private ClientOptions clientOptions() {
+        if (!isCluster(redisProperties)) {
+            return ClientOptions.builder().build();
+        }
+        // slot 이동, 노드 추가/제거, failover 를 감지하도록 토폴로지를 주기적 + 이벤트 기반으로 갱신한다.
+        ClusterTopologyRefreshOptions refreshOptions = ClusterTopologyRefreshOptions.builder()
+                .enablePeriodicRefresh(topologyRefreshPeriod)
+                .enableAllAdaptiveRefreshTriggers()
+                .build();
+        return ClusterClientOptions.builder()
+                .topologyRefreshOptions(refreshOptions)
+                .build();
+    }
+
+    // 토폴로지 판단은 여기 한 곳에서 한다. (RedisReadCache 도 같은 기준을 사용한다)
+    static boolean isCluster(RedisProperties redisProperties) {
+        RedisProperties.Cluster cluster = redisProperties.getCluster();
+        return cluster != null && cluster.getNodes() != null && !cluster.getNodes().isEmpty();
+    }
+
+    static boolean isSentinel(RedisProperties redisProperties) {
+        RedisProperties.Sentinel sentinel = redisProperties.getSentinel();
+        return sentinel != null && sentinel.getMaster() != null && sentinel.getNodes() != null;
+    }
 }
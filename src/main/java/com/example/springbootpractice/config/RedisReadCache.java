@@ -0,0 +1,161 @@
+package com.example.springbootpractice.config;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.event.connection.ConnectionActivatedEvent;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.support.caching.CacheAccessor;
+import io.lettuce.core.support.caching.CacheFrontend;
+import io.lettuce.core.support.caching.ClientSideCaching;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// RT:<email>, AuthCode <email> 처럼 반복 조회되는 키를 위한 client-side cache.
+// RESP3 CLIENT TRACKING 을 사용하므로 다른 클라이언트가 키를 변경/삭제/만료하면
+// Redis 가 invalidate 메시지를 push 하고 로컬 사본이 즉시 제거된다.
+// redis.client-cache.enabled=false (기본값) 이면 RedisTemplate 으로 그대로 조회한다.
+@Slf4j
+@Component
+public class RedisReadCache {
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisProperties redisProperties;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    @Value("${redis.client-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${redis.client-cache.max-entries:100000}")
+    private int maxEntries;
+
+    // RedisConfig 와 같은 command timeout. 별도 RedisClient 라서 직접 지정하지 않으면 Lettuce 기본값(60초)을 쓴다.
+    @Value("${redis.command-timeout:500ms}")
+    private Duration defaultCommandTimeout;
+
+    private RedisClient redisClient;
+    private StatefulRedisConnection<String, String> trackingConnection;
+    private CacheFrontend<String, String> frontend;
+
+    public RedisReadCache(RedisTemplate<String, Object> redisTemplate,
+                          RedisProperties redisProperties,
+                          MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.redisProperties = redisProperties;
+        this.hits = meterRegistry.counter("redis.client_cache.hits");
+        this.misses = meterRegistry.counter("redis.client_cache.misses");
+        this.invalidations = meterRegistry.counter("redis.client_cache.invalidations");
+    }
+
+    @PostConstruct
+    protected void init() {
+        if (!enabled) {
+            return;
+        }
+        if (RedisConfig.isCluster(redisProperties) || RedisConfig.isSentinel(redisProperties)) {
+            // tracking 커넥션은 단일 노드에만 붙으므로 Standalone 토폴로지에서만 사용한다.
+            log.warn("Redis client-side cache is only supported on a standalone topology; disabled");
+            return;
+        }
+        RedisURI.Builder uri = RedisURI.builder()
+                .withHost(redisProperties.getHost())
+                .withPort(redisProperties.getPort())
+                .withTimeout(redisProperties.getTimeout() != null ? redisProperties.getTimeout() : defaultCommandTimeout);
+        if (StringUtils.hasText(redisProperties.getPassword())) {
+            uri.withPassword(redisProperties.getPassword().toCharArray());
+        }
+        redisClient = RedisClient.create(uri.build());
+        // invalidate push 메시지는 RESP3 에서만 같은 커넥션으로 전달된다.
+        redisClient.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build());
+        trackingConnection = redisClient.connect(StringCodec.UTF8);
+        CountingCacheAccessor accessor = new CountingCacheAccessor();
+        frontend = ClientSideCaching.enable(accessor, trackingConnection, TrackingArgs.Builder.enabled());
+        // 재연결되면 서버의 tracking 상태가 사라지므로 로컬 사본을 비우고 tracking 을 다시 켠다.
+        redisClient.getResources().eventBus().get()
+                .filter(event -> event instanceof ConnectionActivatedEvent)
+                .subscribe(event -> {
+                    accessor.clear();
+                    trackingConnection.async().clientTracking(TrackingArgs.Builder.enabled());
+                });
+        log.info("Redis client-side cache enabled (max entries: {})", maxEntries);
+    }
+
+    public String get(String key) {
+        if (frontend == null) {
+            return (String) redisTemplate.opsForValue().get(key);
+        }
+        return frontend.get(key);
+    }
+
+    public boolean isEnabled() {
+        return frontend != null;
+    }
+
+    @PreDestroy
+    protected void close() {
+        if (frontend != null) {
+            frontend.close();
+        }
+        if (trackingConnection != null) {
+            trackingConnection.close();
+        }
+        if (redisClient != null) {
+            redisClient.shutdown();
+        }
+    }
+
+    // Lettuce 가 invalidate 수신 시 evict 를 호출하므로 여기서 hit/miss/invalidation 을 센다.
+    private class CountingCacheAccessor implements CacheAccessor<String, String> {
+        private final Map<String, String> cache = new ConcurrentHashMap<>();
+
+        @Override
+        public String get(String key) {
+            String value = cache.get(key);
+            if (value != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+            return value;
+        }
+
+        @Override
+        public void put(String key, String value) {
+            if (value == null) {
+                return;
+            }
+            // 상한을 넘으면 비우고 다시 채운다. 키는 tracking 되고 있으므로 정합성에는 영향이 없다.
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+            cache.put(key, value);
+        }
+
+        @Override
+        public void evict(String key) {
+            invalidations.increment();
+            cache.remove(key);
+        }
+
+        void clear() {
+            cache.clear();
+        }
+    }
+}
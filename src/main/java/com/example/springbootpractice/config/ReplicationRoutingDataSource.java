@@ -0,0 +1,239 @@
+package com.example.springbootpractice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// @Transactional(readOnly = true) 작업은 정상 상태인 replica 로, 그 외(쓰기, 트랜잭션 없음)는 primary 로 보낸다.
+// - replica 커넥션 획득에 실패하면 해당 replica 를 제외하고 primary 를 사용한다.
+// - 주기적으로 replica 의 커넥션과 복제 지연을 확인해 복구되면 다시 포함한다.
+// - 쓰기를 한 사용자는 read-your-writes-window 동안 읽기도 primary 로 보낸다.
+// 트랜잭션의 readOnly 여부가 정해진 뒤에 커넥션을 얻도록 LazyConnectionDataSourceProxy 로 감싸서 사용해야 한다.
+@Slf4j
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+    private final long readYourWritesMillis;
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    private final Counter fallbacks;
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicationRoutingDataSource(DataSource primary,
+                                        List<DataSource> replicaDataSources,
+                                        DataSourceRoutingProperties properties,
+                                        MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.readYourWritesMillis = properties.getReadYourWritesWindow().toMillis();
+        this.maxLagSeconds = properties.getMaxLagSeconds();
+        this.lagQuery = properties.getLagQuery();
+        this.fallbacks = meterRegistry.counter("datasource.routing.fallbacks");
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + i, replicaDataSources.get(i));
+            replicas.add(replica);
+            targets.put(replica.key, replica.dataSource);
+            meterRegistry.gauge("datasource.routing.replica.healthy",
+                    Tags.of("replica", replica.key), replica, r -> r.healthy ? 1 : 0);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public void startHealthCheck(Duration interval) {
+        if (replicas.isEmpty()) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas,
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                rememberWriter();
+            }
+            return PRIMARY;
+        }
+        if (isRecentWriter()) {
+            return PRIMARY;
+        }
+        Replica replica = nextHealthyReplica();
+        return replica == null ? PRIMARY : replica.key;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return primary.getConnection();
+        }
+        try {
+            return getResolvedDataSources().get(key).getConnection();
+        } catch (SQLException e) {
+            return fallbackToPrimary(key, e).getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return getResolvedDataSources().get(key).getConnection(username, password);
+        } catch (SQLException e) {
+            return fallbackToPrimary(key, e).getConnection(username, password);
+        }
+    }
+
+    private DataSource fallbackToPrimary(Object key, SQLException cause) {
+        log.warn("ReplicationRoutingDataSource {} unavailable, falling back to primary: {}", key, cause.getMessage());
+        replicas.stream().filter(r -> r.key.equals(key)).forEach(r -> r.healthy = false);
+        fallbacks.increment();
+        return primary;
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), size));
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void rememberWriter() {
+        String user = currentUser();
+        if (user != null) {
+            recentWriters.put(user, System.currentTimeMillis() + readYourWritesMillis);
+        }
+    }
+
+    private boolean isRecentWriter() {
+        if (recentWriters.isEmpty()) {
+            return false;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long until = recentWriters.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (until < System.currentTimeMillis()) {
+            recentWriters.remove(user, until);
+            return false;
+        }
+        return true;
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    void checkReplicas() {
+        long now = System.currentTimeMillis();
+        recentWriters.values().removeIf(until -> until < now);
+        for (Replica replica : replicas) {
+            boolean healthy = isHealthy(replica);
+            if (healthy != replica.healthy) {
+                log.info("ReplicationRoutingDataSource {} is now {}", replica.key, healthy ? "healthy" : "excluded");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private boolean isHealthy(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (lagQuery == null) {
+                return connection.isValid(2);
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                long lag = resultSet.getLong(lagColumn(resultSet));
+                // NULL 이면 복제가 멈춘 상태
+                return !resultSet.wasNull() && lag <= maxLagSeconds;
+            }
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private int lagColumn(ResultSet resultSet) {
+        try {
+            return resultSet.findColumn("Seconds_Behind_Master");
+        } catch (SQLException e) {
+            return 1;
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) replica.dataSource).close();
+            }
+        }
+    }
+
+    private static class Replica {
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
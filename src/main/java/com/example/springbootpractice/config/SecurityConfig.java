@@ -1,11 +1,17 @@
 package com.example.springbootpractice.config;
 
+import com.example.springbootpractice.common.concurrency.ConcurrencyLimitFilter;
+import com.example.springbootpractice.common.concurrency.ConcurrencyLimitProperties;
+import com.example.springbootpractice.common.idempotency.IdempotencyFilter;
+import com.example.springbootpractice.common.idempotency.IdempotencyStore;
+import com.example.springbootpractice.member.security.AccessTokenRenewer;
 import com.example.springbootpractice.member.security.JwtAuthenticationFilter;
 import com.example.springbootpractice.member.security.JwtProvider;
+import com.example.springbootpractice.member.security.TokenStore;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -19,19 +25,35 @@ import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Configuration
 @RequiredArgsConstructor
 @EnableWebSecurity
 public class SecurityConfig {
-    private final RedisTemplate<String, Object> redisTemplate;
     private final JwtProvider jwtProvider;
+    private final TokenStore tokenStore;
+    private final AccessTokenRenewer accessTokenRenewer;
+    private final CorsProperties corsProperties;
+    private final IdempotencyStore idempotencyStore;
+    private final ConcurrencyLimitProperties concurrencyLimitProperties;
+    private final MeterRegistry meterRegistry;
+
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of("/register", "/find-pwd", "/emails/send-authcode");
+    // bcrypt/SMTP 를 사용하는 요청의 동시 실행 한도 분류 (path -> 분류)
+    private static final Map<String, String> CONCURRENCY_LIMITED_PATHS = Map.of(
+            "/login", "login",
+            "/register", "register",
+            "/find-pwd", "find-pwd",
+            "/user/modify-pwd", "account",
+            "/user/withdraw", "account");
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -41,49 +63,8 @@ public class SecurityConfig {
                 // 쿠키 기반이 아닌 JWT 기반이므로 사용하지 않음
                 .csrf().disable()
                 // CORS 설정
-                .cors(c -> {
-                            CorsConfigurationSource source = request -> {
-                                // Cors 허용 패턴
-                                CorsConfiguration config = new CorsConfiguration();
-                                config.setAllowedOrigins(
-                                        List.of(
-                                            "http://192.168.0.3:8083/",
-                                            "http://localhost:8083/"
-                                        )
-                                );
-                                config.setMaxAge(3600L);
-                                config.setAllowCredentials(true);
-                                config.setAllowedMethods(
-                                        List.of("PUT", "GET", "POST", "OPTIONS", "DELETE", "PATCH")
-                                );
-                                config.setExposedHeaders(List.of(
-                                        "Authorization",
-                                        "X-CSRF-TOKEN"
-                                ));
-                                config.setAllowedHeaders(List.of(
-                                        "Access-Control-Allow-Headers",
-                                        "Access-Control-Allow-Origin",
-                                        "Access-Control-Expose-Headers",
-                                        "Access-control-allow-credentials",
-                                        "Accept",
-                                        "X-Requested-With",
-                                        "Authorization",
-                                        "Cache-Control",
-                                        "Content-Type",
-                                        "Expires",
-                                        "Last-Modified",
-                                        "Content-Language",
-                                        "Pragma",
-                                        "Baeldung-Allowed",
-                                        "Credential",
-                                        "X-AUTH-TOKEN",
-                                        "X-CSRF-TOKEN"
-                                ));
-                                return config;
-                            };
-                            c.configurationSource(source);
-                        }
-                )
+                // CORS 설정 (요청마다 만들지 않고 기동 시 한 번 만든 설정을 사용)
+                .cors(c -> c.configurationSource(corsConfigurationSource()))
                 // Spring Security 세션 정책 : 세션을 생성 및 사용하지 않음
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
@@ -91,14 +72,24 @@ public class SecurityConfig {
                 .authorizeRequests()
                 // 회원가입과 로그인은 모두 승인
                 .antMatchers("/register", "/login", "/emails/send-authcode", "/emails/verifications", "/find-email", "/find-pwd", "/modify-pwd", "/modify-info").permitAll()
+                // 쿠버네티스 liveness/readiness probe
+                .antMatchers("/livez", "/readyz").permitAll()
+                // 내부 서비스용 API 는 컨트롤러에서 introspection.api-key 로 인증
+                .antMatchers("/internal/**").permitAll()
                 // /admin으로 시작하는 요청은 ADMIN 권한이 있는 유저에게만 허용
                 .antMatchers("/admin/**").hasRole("ADMIN")
+                // actuator(metrics 등)는 ADMIN 권한이 있는 유저에게만 허용
+                .antMatchers("/actuator/**").hasRole("ADMIN")
                 // /user 로 시작하는 요청은 USER 권한이 있는 유저에게만 허용
                 .antMatchers("/user/**").hasRole("USER")
                 .anyRequest().denyAll()
                 .and()
+                // 비싼 요청은 JWT 검증 전에 동시 실행 한도로 먼저 거른다.
+                .addFilterBefore(new ConcurrencyLimitFilter(concurrencyLimitProperties, CONCURRENCY_LIMITED_PATHS, meterRegistry), UsernamePasswordAuthenticationFilter.class)
                 // JWT 인증 필터 적용
-                .addFilterBefore(new JwtAuthenticationFilter(redisTemplate, jwtProvider), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtAuthenticationFilter(tokenStore, jwtProvider, accessTokenRenewer), UsernamePasswordAuthenticationFilter.class)
+                // 재시도가 잦고 비용이 큰 요청은 Idempotency-Key 로 첫 응답을 재사용
+                .addFilterAfter(new IdempotencyFilter(idempotencyStore, IDEMPOTENT_PATHS), UsernamePasswordAuthenticationFilter.class)
                 // 에러 핸들링
                 .exceptionHandling()
                 .accessDeniedHandler(new AccessDeniedHandler() {
@@ -129,6 +120,22 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Cors 허용 패턴. cors.* 설정으로 한 번만 생성한다.
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration config = new CorsConfiguration();
+        config.setAllowedOrigins(corsProperties.getAllowedOrigins());
+        config.setMaxAge(corsProperties.getMaxAge());
+        config.setAllowCredentials(corsProperties.isAllowCredentials());
+        config.setAllowedMethods(corsProperties.getAllowedMethods());
+        config.setExposedHeaders(corsProperties.getExposedHeaders());
+        config.setAllowedHeaders(corsProperties.getAllowedHeaders());
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", config);
+        return source;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return PasswordEncoderFactories.createDelegatingPasswordEncoder();
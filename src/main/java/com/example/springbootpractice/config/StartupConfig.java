@@ -0,0 +1,28 @@
+package com.example.springbootpractice.config;
+
+import com.example.springbootpractice.member.security.JwtProvider;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.security.web.SecurityFilterChain;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+@Configuration
+public class StartupConfig {
+
+    // fast-startup 프로파일(spring.main.lazy-initialization=true)에서도
+    // 첫 요청 경로에 필요한 빈은 기동 시점에 미리 만든다.
+    // 메일 발송, Thymeleaf, 관리용 빈 등은 처음 사용될 때 생성된다.
+    @Bean
+    public static LazyInitializationExcludeFilter criticalBeansExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                SecurityFilterChain.class,
+                JwtProvider.class,
+                DataSource.class,
+                EntityManagerFactory.class,
+                RedisConnectionFactory.class);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.springbootpractice.config;
+
+import com.example.springbootpractice.member.dto.LoginResponseDto;
+import com.example.springbootpractice.member.dto.TokenDto;
+import com.example.springbootpractice.member.entity.Authority;
+import com.example.springbootpractice.member.repository.MemberRepository;
+import com.example.springbootpractice.member.security.JwtProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// 배포 직후 첫 요청들이 인터프리터/C1 코드로 실행되지 않도록
+// JWT 서명/검증, LoginResponseDto 직렬화, bcrypt, findByEmail 경로를 합성 데이터로 미리 실행한다.
+// ApplicationRunner 는 ApplicationReadyEvent(readiness ACCEPTING_TRAFFIC) 전에 실행되므로
+// warm-up 이 끝나거나 warmup.time-limit 이 지날 때까지 /readyz 는 OUT_OF_SERVICE 로 남는다.
+// Redis 와 DB 에는 쓰지 않는다. (findByEmail 은 존재하지 않는 이메일 조회)
+@Slf4j
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+    private static final String EMAIL = "warmup@warmup.invalid";
+
+    private final JwtProvider jwtProvider;
+    private final ObjectMapper objectMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final MemberRepository memberRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.time-limit:30s}")
+    private Duration timeLimit;
+
+    // C2 컴파일 임계치(약 1만 회)를 넘기도록 반복한다.
+    @Value("${warmup.iterations:20000}")
+    private int iterations;
+
+    // bcrypt 는 한 번에 수십 ms 이고 내부 루프가 자체적으로 충분히 반복된다.
+    @Value("${warmup.bcrypt-iterations:20}")
+    private int bcryptIterations;
+
+    @Value("${warmup.query-iterations:200}")
+    private int queryIterations;
+
+    private volatile boolean stopped;
+    private volatile long durationNanos;
+
+    public WarmUpRunner(JwtProvider jwtProvider,
+                        ObjectMapper objectMapper,
+                        PasswordEncoder passwordEncoder,
+                        MemberRepository memberRepository,
+                        MeterRegistry meterRegistry) {
+        this.jwtProvider = jwtProvider;
+        this.objectMapper = objectMapper;
+        this.passwordEncoder = passwordEncoder;
+        this.memberRepository = memberRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Runnable> tasks = new LinkedHashMap<>();
+        tasks.put("jwt", this::warmUpJwt);
+        tasks.put("jackson", this::warmUpJackson);
+        tasks.put("bcrypt", this::warmUpBcrypt);
+        tasks.put("find-by-email", this::warmUpFindByEmail);
+
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size(), runnable -> {
+            Thread thread = new Thread(runnable, "warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> futures = new ArrayList<>();
+        for (Map.Entry<String, Runnable> task : tasks.entrySet()) {
+            futures.add(executor.submit(() -> timed(task.getKey(), task.getValue())));
+        }
+        executor.shutdown();
+
+        long deadline = started + timeLimit.toNanos();
+        int index = 0;
+        for (String name : tasks.keySet()) {
+            try {
+                futures.get(index++).get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.warn("Warm-up time limit ({}) reached before {} finished", timeLimit, name);
+                break;
+            } catch (ExecutionException e) {
+                // warm-up 실패로 기동을 막지 않는다.
+                log.warn("Warm-up task {} failed: {}", name, e.getCause().getMessage());
+            }
+        }
+        stopped = true;
+
+        long elapsed = System.nanoTime() - started;
+        durationNanos = elapsed;
+        TimeGauge.builder("startup.warmup.duration", this, TimeUnit.NANOSECONDS, runner -> runner.durationNanos)
+                .register(meterRegistry);
+        log.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private void timed(String name, Runnable task) {
+        Timer.builder("startup.warmup.task").tag("task", name).register(meterRegistry).record(task);
+    }
+
+    private void warmUpJwt() {
+        List<Authority> roles = List.of(Authority.builder().name("ROLE_USER").build());
+        for (int i = 0; i < iterations && !stopped; i++) {
+            String token = "Bearer " + jwtProvider.createToken(EMAIL, roles, JwtProvider.ACCESS_TOKEN);
+            jwtProvider.checkToken(token, claims -> claims.getSubject());
+            // 변조/형식 오류 토큰의 거절 경로
+            jwtProvider.checkToken(token.substring(0, token.length() - 2) + "AA");
+        }
+    }
+
+    private void warmUpJackson() {
+        LoginResponseDto response = LoginResponseDto.builder()
+                .id(1L)
+                .email(EMAIL)
+                .name("warmup")
+                .phone("01000000000")
+                .roles(List.of(Authority.builder().name("ROLE_USER").build()))
+                .tokens(new TokenDto("access", "refresh"))
+                .build();
+        try {
+            for (int i = 0; i < iterations && !stopped; i++) {
+                objectMapper.writeValueAsBytes(response);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void warmUpBcrypt() {
+        String encoded = passwordEncoder.encode("warmup-password");
+        for (int i = 0; i < bcryptIterations && !stopped; i++) {
+            passwordEncoder.matches("warmup-password", encoded);
+        }
+    }
+
+    private void warmUpFindByEmail() {
+        for (int i = 0; i < queryIterations && !stopped; i++) {
+            memberRepository.findByEmail(EMAIL);
+        }
+    }
+}
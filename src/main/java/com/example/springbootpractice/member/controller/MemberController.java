@@ -2,6 +2,9 @@ package com.example.springbootpractice.member.controller;
 
 import com.example.springbootpractice.member.dto.LoginRequestDto;
 import com.example.springbootpractice.member.dto.LoginResponseDto;
+import com.example.springbootpractice.member.dto.MemberLookupRequestDto;
+import com.example.springbootpractice.member.dto.MemberLookupResponseDto;
+import com.example.springbootpractice.member.dto.MemberSearchResponseDto;
 import com.example.springbootpractice.member.dto.ModifyUserInfoDto;
 import com.example.springbootpractice.member.dto.SignUpRequestDto;
 import com.example.springbootpractice.member.entity.Member;
@@ -9,6 +12,7 @@ import com.example.springbootpractice.member.security.JwtProvider;
 import com.example.springbootpractice.member.service.MemberService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -149,14 +153,81 @@ public class MemberController {
 
     @ResponseBody
     @GetMapping("/user/get")
-    public ResponseEntity<LoginResponseDto> getUser(@RequestParam String account) throws Exception {
-        return new ResponseEntity<>( memberService.getMember(account), HttpStatus.OK);
+    public ResponseEntity<LoginResponseDto> getUser(
+            @RequestParam String account,
+            @RequestHeader (name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception {
+        return getMemberIfModified(account, ifNoneMatch);
     }
 
     @ResponseBody
     @GetMapping("/admin/get")
-    public ResponseEntity<LoginResponseDto> getUserForAdmin(@RequestParam String account) throws Exception {
-        return new ResponseEntity<>( memberService.getMember(account), HttpStatus.OK);
+    public ResponseEntity<LoginResponseDto> getUserForAdmin(
+            @RequestParam String account,
+            @RequestHeader (name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception {
+        return getMemberIfModified(account, ifNoneMatch);
+    }
+
+    // 이름/이메일/전화번호 prefix 검색. 다음 페이지는 응답의 nextValue, nextId 를 afterValue, afterId 로 넘긴다.
+    @ResponseBody
+    @GetMapping("/admin/members/search")
+    public ResponseEntity<MemberSearchResponseDto> searchMembers(
+            @RequestParam String field,
+            @RequestParam String prefix,
+            @RequestParam(required = false) String afterValue,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return new ResponseEntity<>(memberService.searchMembers(field, prefix, afterValue, afterId, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            // 지원하지 않는 field
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // email 또는 id 목록으로 일괄 조회. 결과는 요청 순서이며 찾지 못한 값은 missing 으로 돌려준다.
+    @ResponseBody
+    @PostMapping("/admin/members/lookup")
+    public ResponseEntity<MemberLookupResponseDto> lookupMembers(@RequestBody MemberLookupRequestDto request) {
+        if ((request.getEmails() == null) == (request.getIds() == null)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return new ResponseEntity<>(memberService.lookupMembers(request.getEmails(), request.getIds()), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Member.version 을 strong ETag 로 사용한다.
+    // If-None-Match 가 현재 version 과 같으면 version 만 조회하고 304 로 응답한다.
+    private ResponseEntity<LoginResponseDto> getMemberIfModified(String account, String ifNoneMatch) throws Exception {
+        if (ifNoneMatch != null) {
+            Long version = memberService.getMemberVersion(account);
+            if (version != null && eTagMatches(ifNoneMatch, toETag(version))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(toETag(version)).build();
+            }
+        }
+
+        LoginResponseDto member = memberService.getMember(account);
+        return ResponseEntity.ok().eTag(toETag(member.getVersion())).body(member);
+    }
+
+    private static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-None-Match 는 weak 비교를 한다. (RFC 7232) gzip 등을 거치며 프록시가 W/ 를 붙인 값도 같은 version 으로 본다.
+    private static boolean eTagMatches(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @ResponseBody
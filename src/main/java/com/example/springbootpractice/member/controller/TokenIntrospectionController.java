@@ -0,0 +1,55 @@
+package com.example.springbootpractice.member.controller;
+
+import com.example.springbootpractice.member.dto.TokenIntrospectionDto;
+import com.example.springbootpractice.member.dto.TokenIntrospectionRequestDto;
+import com.example.springbootpractice.member.service.TokenIntrospectionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+// 내부 서비스용 API. 사용자 JWT 가 아니라 introspection.api-key 로 인증한다.
+// api-key 가 설정되지 않으면 모든 요청을 거부한다.
+@Controller
+@RequiredArgsConstructor
+public class TokenIntrospectionController {
+    public static final String API_KEY_HEADER = "X-Internal-Api-Key";
+
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    @Value("${introspection.api-key:}")
+    private String apiKey;
+
+    @ResponseBody
+    @PostMapping(value = "/internal/tokens/introspect")
+    public ResponseEntity<List<TokenIntrospectionDto>> introspect(
+            @RequestHeader(name = API_KEY_HEADER, required = false) String requestApiKey,
+            @RequestBody TokenIntrospectionRequestDto request) {
+        if (!isAuthorized(requestApiKey)) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        List<String> tokens = request.getTokens();
+        if (tokens == null || tokens.size() > tokenIntrospectionService.getMaxBatchSize()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(tokenIntrospectionService.introspect(tokens), HttpStatus.OK);
+    }
+
+    private boolean isAuthorized(String requestApiKey) {
+        if (!StringUtils.hasText(apiKey) || requestApiKey == null) {
+            return false;
+        }
+        // 비교 시간으로 키를 추측할 수 없도록 상수 시간 비교
+        return MessageDigest.isEqual(apiKey.getBytes(StandardCharsets.UTF_8), requestApiKey.getBytes(StandardCharsets.UTF_8));
+    }
+}
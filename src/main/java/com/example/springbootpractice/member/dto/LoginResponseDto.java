@@ -2,6 +2,7 @@ package com.example.springbootpractice.member.dto;
 
 import com.example.springbootpractice.member.entity.Authority;
 import com.example.springbootpractice.member.entity.Member;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -22,6 +23,8 @@ public class LoginResponseDto {
     private String phone;
     private List<Authority> roles;
     private TokenDto tokens;
+    @JsonIgnore
+    private Long version;
 
     public LoginResponseDto(Member member) {
         this.id = member.getId();
@@ -29,5 +32,6 @@ public class LoginResponseDto {
         this.name = member.getName();
         this.phone = member.getPhone();
         this.roles = member.getRoles();
+        this.version = member.getVersion();
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.springbootpractice.member.dto;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class MemberLookupDto {
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final String phone;
+    private final List<String> roles = new ArrayList<>();
+
+    public MemberLookupDto(MemberSummaryDto member) {
+        this.id = member.getId();
+        this.email = member.getEmail();
+        this.name = member.getName();
+        this.phone = member.getPhone();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.springbootpractice.member.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+// emails 와 ids 중 하나만 채운다.
+@Getter
+@Setter
+public class MemberLookupRequestDto {
+    private List<String> emails;
+    private List<Long> ids;
+}
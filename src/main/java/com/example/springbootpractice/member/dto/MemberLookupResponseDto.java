@@ -0,0 +1,15 @@
+package com.example.springbootpractice.member.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class MemberLookupResponseDto {
+    // 요청 순서. 찾지 못한 항목은 빠진다.
+    private List<MemberLookupDto> members;
+    // 찾지 못한 email 또는 id (요청 순서)
+    private List<String> missing;
+}
@@ -0,0 +1,18 @@
+package com.example.springbootpractice.member.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 프로필 조회 projection. 권한 하나당 한 row 이며 권한이 없으면 role 은 null 이다.
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MemberProfileDto {
+    private Long id;
+    private String email;
+    private String name;
+    private String phone;
+    private Long version;
+    private String role;
+}
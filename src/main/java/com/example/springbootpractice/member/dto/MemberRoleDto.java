@@ -0,0 +1,13 @@
+package com.example.springbootpractice.member.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MemberRoleDto {
+    private Long memberId;
+    private String name;
+}
@@ -0,0 +1,17 @@
+package com.example.springbootpractice.member.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 다음 페이지는 nextValue, nextId 를 afterValue, afterId 로 넘겨서 조회한다. (마지막 페이지면 null)
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MemberSearchResponseDto {
+    private List<MemberSummaryDto> members;
+    private String nextValue;
+    private Long nextId;
+}
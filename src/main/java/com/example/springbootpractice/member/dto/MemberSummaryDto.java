@@ -0,0 +1,15 @@
+package com.example.springbootpractice.member.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MemberSummaryDto {
+    private Long id;
+    private String email;
+    private String name;
+    private String phone;
+}
@@ -0,0 +1,28 @@
+package com.example.springbootpractice.member.dto;
+
+import com.example.springbootpractice.member.security.TokenStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospectionDto {
+    private boolean active;
+    // 서명/형식 검증 결과. 서명이 유효해도 폐기(로그아웃)된 토큰은 active=false, revoked=true
+    private TokenStatus status;
+    private boolean revoked;
+    private String subject;
+    private List<String> roles;
+    // 만료시각 (epoch ms)
+    private Long expiresAt;
+
+    public static TokenIntrospectionDto inactive(TokenStatus status) {
+        return new TokenIntrospectionDto(false, status, false, null, null, null);
+    }
+}
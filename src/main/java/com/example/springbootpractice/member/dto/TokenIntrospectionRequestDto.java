@@ -0,0 +1,13 @@
+package com.example.springbootpractice.member.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class TokenIntrospectionRequestDto {
+    // "Bearer " 접두어는 있어도 되고 없어도 된다.
+    private List<String> tokens;
+}
@@ -2,6 +2,7 @@ package com.example.springbootpractice.member.entity;
 
 
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
@@ -13,6 +14,11 @@ import java.util.List;
         uniqueConstraints = {@UniqueConstraint(
                 name = "email_unique",
                 columnNames = {"email"} )
+        },
+        // InnoDB 보조 인덱스는 PK(id)를 포함하므로 (name, id), (phone, id) 순서의 keyset 페이지네이션에도 사용된다.
+        indexes = {
+                @Index(name = "idx_member_name", columnList = "name"),
+                @Index(name = "idx_member_phone", columnList = "phone")
         })
 @DynamicUpdate
 @Getter
@@ -25,7 +31,8 @@ public class Member {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, length = 50, unique = true)
+    // 유일성은 email_unique 제약 하나로 보장한다. (가입 시 유일 제약 위반을 중복 가입으로 판별)
+    @Column(nullable = false, length = 50)
     private String email;
 
     @Column(nullable = false)
@@ -34,9 +41,16 @@ public class Member {
     @Column(nullable = false, length = 50)
     private String name;
 
+    // PhoneNumberUtils.normalize 된 값만 저장한다.
     @Column(nullable = false, length = 20)
     private String phone;
 
+    // 회원정보/비밀번호 변경 시 증가하며 /user/get, /admin/get 의 ETag 로 사용한다.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "member", fetch = FetchType.EAGER, cascade = CascadeType.ALL)
     @Builder.Default
     private List<Authority> roles = new ArrayList<>();
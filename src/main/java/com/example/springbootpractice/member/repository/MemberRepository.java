@@ -1,9 +1,19 @@
 package com.example.springbootpractice.member.repository;
 
+import com.example.springbootpractice.member.dto.MemberProfileDto;
+import com.example.springbootpractice.member.dto.MemberRoleDto;
+import com.example.springbootpractice.member.dto.MemberSummaryDto;
 import com.example.springbootpractice.member.entity.Member;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,5 +22,83 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByName(String userId);
     Optional<Member> findByEmail(String email);
     Optional<Member> findByPhone(String phone);
+
+    // 로그인, 아이디 찾기, 임시 비밀번호 발급은 방금 가입했거나 비밀번호를 바꾼 회원을 익명 요청으로 읽는다.
+    // read-your-writes 는 인증된 사용자에게만 적용되므로 복제 지연이 있는 replica 대신
+    // 쓰기 트랜잭션(primary)에서 읽는다. (JpaRepository 의 기본 조회는 readOnly 라 replica 로 간다)
+    @Transactional
+    @Query("select m from Member m where m.email = :email")
+    Optional<Member> findCredentialsByEmail(@Param("email") String email);
+
+    @Transactional
+    @Query("select m from Member m where m.phone = :phone")
+    Optional<Member> findCredentialsByPhone(@Param("phone") String phone);
+
+    // 엔티티/권한을 로딩하지 않고 version 만 조회 (조건부 GET 용)
+    @Query("select m.version from Member m where m.email = :email")
+    Optional<Long> findVersionByEmail(@Param("email") String email);
+
+    // 프로필 조회: password 를 제외한 컬럼과 권한 이름을 SELECT 한 번으로 읽는다. (엔티티를 영속성 컨텍스트에 올리지 않음)
+    @Query("select new com.example.springbootpractice.member.dto.MemberProfileDto(m.id, m.email, m.name, m.phone, m.version, a.name) " +
+            "from Member m left join m.roles a where m.email = :email")
+    List<MemberProfileDto> findProfileByEmail(@Param("email") String email);
+
+    // 관리자 일괄 조회: 권한은 findRolesByMemberIdIn 으로 한 번에 가져온다.
+    @Query("select new com.example.springbootpractice.member.dto.MemberSummaryDto(m.id, m.email, m.name, m.phone) " +
+            "from Member m where m.email in :emails")
+    List<MemberSummaryDto> findSummariesByEmailIn(@Param("emails") Collection<String> emails);
+
+    @Query("select new com.example.springbootpractice.member.dto.MemberSummaryDto(m.id, m.email, m.name, m.phone) " +
+            "from Member m where m.id in :ids")
+    List<MemberSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.example.springbootpractice.member.dto.MemberRoleDto(a.member.id, a.name) " +
+            "from Authority a where a.member.id in :memberIds")
+    List<MemberRoleDto> findRolesByMemberIdIn(@Param("memberIds") Collection<Long> memberIds);
+
+    // 전체 회원을 id 순 keyset 페이지로 읽는다. (broadcast 메일 발송용)
+    @Query("select new com.example.springbootpractice.member.dto.MemberSummaryDto(m.id, m.email, m.name, m.phone) " +
+            "from Member m where m.id > :afterId order by m.id")
+    List<MemberSummaryDto> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    // 저장된 전화번호가 아직 읽은 값(previous)일 때만 표준 형태로 바꾼다. (PhoneNumberBackfill)
+    // 그 사이 회원정보가 수정되었으면 건너뛰고, 바꾸면 ETag 가 달라지도록 version 을 올린다.
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.phone = :phone, m.version = m.version + 1 where m.id = :id and m.phone = :previous")
+    int normalizePhone(@Param("id") Long id, @Param("previous") String previous, @Param("phone") String phone);
+
+    // 권한을 가진 회원을 id 순 keyset 페이지로 읽는다. (관리자 강제 로그아웃용)
+    @Query("select new com.example.springbootpractice.member.dto.MemberSummaryDto(m.id, m.email, m.name, m.phone) " +
+            "from Authority a join a.member m where a.name = :role and m.id > :afterId order by m.id")
+    List<MemberSummaryDto> findPageByRoleAfter(@Param("role") String role, @Param("afterId") long afterId, Pageable pageable);
+
+    // 관리자 회원 검색: 인덱스 컬럼 prefix 검색 + (컬럼, id) keyset 페이지네이션
+    @Query("select new com.example.springbootpractice.member.dto.MemberSummaryDto(m.id, m.email, m.name, m.phone) " +
+            "from Member m where m.name like :prefix escape '!' " +
+            "and (m.name > :afterValue or (m.name = :afterValue and m.id > :afterId)) " +
+            "order by m.name, m.id")
+    List<MemberSummaryDto> searchByNamePrefix(@Param("prefix") String prefix,
+                                              @Param("afterValue") String afterValue,
+                                              @Param("afterId") long afterId,
+                                              Pageable pageable);
+
+    @Query("select new com.example.springbootpractice.member.dto.MemberSummaryDto(m.id, m.email, m.name, m.phone) " +
+            "from Member m where m.email like :prefix escape '!' " +
+            "and (m.email > :afterValue or (m.email = :afterValue and m.id > :afterId)) " +
+            "order by m.email, m.id")
+    List<MemberSummaryDto> searchByEmailPrefix(@Param("prefix") String prefix,
+                                               @Param("afterValue") String afterValue,
+                                               @Param("afterId") long afterId,
+                                               Pageable pageable);
+
+    @Query("select new com.example.springbootpractice.member.dto.MemberSummaryDto(m.id, m.email, m.name, m.phone) " +
+            "from Member m where m.phone like :prefix escape '!' " +
+            "and (m.phone > :afterValue or (m.phone = :afterValue and m.id > :afterId)) " +
+            "order by m.phone, m.id")
+    List<MemberSummaryDto> searchByPhonePrefix(@Param("prefix") String prefix,
+                                               @Param("afterValue") String afterValue,
+                                               @Param("afterId") long afterId,
+                                               Pageable pageable);
 }
 
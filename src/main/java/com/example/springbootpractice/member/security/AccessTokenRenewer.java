@@ -0,0 +1,92 @@
+package com.example.springbootpractice.member.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// 만료까지 jwt.renewal.window 이하로 남은 access token 으로 인증된 요청에 새 access token 을 발급한다.
+// 검증된 claims 만 사용하므로 DB 와 refresh token(RT:)은 건드리지 않는다.
+// 재발급은 최초 로그인 시각(auth_time)부터 REFRESH_TIME 까지만 하므로 재발급을 이어 가도 로그인 수명을 넘지 못한다.
+// 재발급된 토큰은 원래 토큰과 auth_time 이 같으므로 로그아웃(로그인 단위 폐기)과 강제 로그아웃(계정 단위 폐기) 모두에 함께 거부된다.
+// 같은 사용자의 동시 요청마다 발급하지 않도록 사용자별 마지막 발급 시각을 window 동안 기억한다. (노드 로컬)
+@Component
+public class AccessTokenRenewer {
+    private final JwtProvider jwtProvider;
+    private final Counter renewed;
+
+    // 사용자(email) -> 마지막 발급 시각(ms)
+    private final Map<String, Long> renewedAt = new ConcurrentHashMap<>();
+
+    @Value("${jwt.renewal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.renewal.window:1h}")
+    private Duration window;
+
+    @Value("${jwt.renewal.max-entries:100000}")
+    private int maxEntries;
+
+    public AccessTokenRenewer(JwtProvider jwtProvider, MeterRegistry meterRegistry) {
+        this.jwtProvider = jwtProvider;
+        this.renewed = meterRegistry.counter("jwt.access_token.renewed");
+    }
+
+    // 재발급한 access token. window 밖이거나 이 사용자에게 이번 window 안에 이미 발급했으면 null
+    public String renew(Claims claims) {
+        if (!enabled || claims == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        long windowMillis = window.toMillis();
+        Date expiration = claims.getExpiration();
+        if (expiration == null || expiration.getTime() - now > windowMillis || claims.getSubject() == null) {
+            return null;
+        }
+        Long authTime = JwtProvider.getAuthTime(claims);
+        // 새 토큰의 만료가 지금 토큰보다 늦어지지 않으면 재발급할 의미가 없다.
+        if (authTime == null || authTime * 1000 + JwtProvider.REFRESH_TIME <= expiration.getTime()) {
+            return null;
+        }
+
+        boolean[] first = new boolean[1];
+        renewedAt.compute(claims.getSubject(), (subject, previous) -> {
+            if (previous != null && now - previous < windowMillis) {
+                return previous;
+            }
+            first[0] = true;
+            return now;
+        });
+        if (!first[0]) {
+            return null;
+        }
+        if (renewedAt.size() > maxEntries) {
+            evict(now, windowMillis);
+        }
+        renewed.increment();
+        return jwtProvider.renewAccessToken(claims);
+    }
+
+    // window 가 지난 항목을 지우고, 그래도 max-entries 를 넘으면 오래된 항목부터 max-entries 의 90% 까지 줄인다.
+    // 지워진 사용자는 같은 window 안에서 한 번 더 재발급받을 수 있을 뿐이다.
+    private void evict(long now, long windowMillis) {
+        renewedAt.values().removeIf(issuedAt -> now - issuedAt >= windowMillis);
+        int excess = renewedAt.size() - maxEntries * 9 / 10;
+        if (renewedAt.size() <= maxEntries || excess <= 0) {
+            return;
+        }
+        renewedAt.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList())
+                .forEach(renewedAt::remove);
+    }
+}
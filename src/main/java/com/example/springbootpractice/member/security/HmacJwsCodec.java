@@ -0,0 +1,170 @@
+package com.example.springbootpractice.member.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.PrematureJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.Mac;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+// HS256 compact JWS 를 jjwt 없이 서명/검증한다.
+// jjwt 와 같은 형식이다. ( {"alg":"HS256"} 헤더, 패딩 없는 base64url, claims 는 기본 ObjectMapper 로 직렬화 )
+// jjwt 는 서명/검증마다 Mac 을 새로 찾아 초기화하므로 키로 초기화된 Mac 과 버퍼를 스레드마다 재사용한다.
+// 서명은 기대값을 base64url 로 인코딩해서 토큰의 서명 구간과 상수 시간으로 비교한다.
+public class HmacJwsCodec {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.US_ASCII));
+    // 32바이트 HMAC-SHA256 의 base64url 길이
+    private static final int SIGNATURE_LENGTH = 43;
+
+    private final Key key;
+    private final int maxLength;
+    // Spring 의 ObjectMapper 설정(날짜 형식 등)에 영향받지 않도록 jjwt-jackson 처럼 기본 설정을 사용한다.
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ThreadLocal<Buffers> buffers;
+
+    public HmacJwsCodec(Key key, int maxLength) {
+        this.key = key;
+        this.maxLength = maxLength;
+        // 키가 잘못되었으면 첫 요청이 아니라 기동 시 실패한다.
+        newMac();
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(newMac(), maxLength));
+    }
+
+    public String sign(Map<String, Object> claims) {
+        String payload;
+        try {
+            payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to serialize claims", e);
+        }
+        StringBuilder jws = new StringBuilder(HEADER.length() + payload.length() + SIGNATURE_LENGTH + 2)
+                .append(HEADER).append('.').append(payload);
+
+        Buffers buffer = buffers.get();
+        byte[] input = jws.length() <= buffer.input.length ? buffer.input : new byte[jws.length()];
+        for (int i = 0; i < jws.length(); i++) {
+            input[i] = (byte) jws.charAt(i);
+        }
+        buffer.sign(input, jws.length());
+        return jws.append('.').append(new String(buffer.signature, 0, SIGNATURE_LENGTH, StandardCharsets.US_ASCII)).toString();
+    }
+
+    // jjwt 의 parseClaimsJws 와 같은 예외를 던진다.
+    public Claims parse(String jws) {
+        if (jws == null || jws.isEmpty()) {
+            throw new MalformedJwtException("JWT String argument cannot be null or empty.");
+        }
+        if (jws.length() > maxLength) {
+            throw new MalformedJwtException("JWT is longer than " + maxLength + " characters.");
+        }
+        int firstDot = jws.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : jws.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0 || jws.indexOf('.', secondDot + 1) >= 0) {
+            throw new MalformedJwtException("JWT strings must contain exactly 2 period characters.");
+        }
+        if (firstDot != HEADER.length() || !jws.startsWith(HEADER)) {
+            checkAlgorithm(jws.substring(0, firstDot));
+        }
+        if (jws.length() - secondDot - 1 != SIGNATURE_LENGTH) {
+            throw new SignatureException("JWT signature does not match locally computed signature.");
+        }
+
+        Buffers buffer = buffers.get();
+        for (int i = 0; i < jws.length(); i++) {
+            char c = jws.charAt(i);
+            if (c > 0x7f) {
+                throw new MalformedJwtException("JWT contains non-ASCII characters.");
+            }
+            buffer.input[i] = (byte) c;
+        }
+        buffer.sign(buffer.input, secondDot);
+        if (!constantTimeEquals(buffer.signature, buffer.input, secondDot + 1)) {
+            throw new SignatureException("JWT signature does not match locally computed signature.");
+        }
+
+        Claims claims = Jwts.claims(readJson(jws.substring(firstDot + 1, secondDot)));
+        long now = System.currentTimeMillis();
+        Date expiration = claims.getExpiration();
+        if (expiration != null && now > expiration.getTime()) {
+            throw new ExpiredJwtException(null, claims, "JWT expired at " + expiration.toInstant() + ".");
+        }
+        Date notBefore = claims.getNotBefore();
+        if (notBefore != null && now < notBefore.getTime()) {
+            throw new PrematureJwtException(null, claims, "JWT must not be accepted before " + notBefore.toInstant() + ".");
+        }
+        return claims;
+    }
+
+    // 헤더가 발급 형식과 다르면 alg 만 확인한다.
+    private void checkAlgorithm(String header) {
+        Object algorithm = readJson(header).get("alg");
+        if (!"HS256".equals(algorithm)) {
+            throw new SignatureException("Unsupported JWS algorithm: " + algorithm);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readJson(String segment) {
+        try {
+            return objectMapper.readValue(DECODER.decode(segment), Map.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new MalformedJwtException("Unable to read JWT JSON value.", e);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize " + ALGORITHM, e);
+        }
+    }
+
+    private static boolean constantTimeEquals(byte[] expected, byte[] source, int offset) {
+        int result = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            result |= expected[i] ^ source[offset + i];
+        }
+        return result == 0;
+    }
+
+    private static class Buffers {
+        private final Mac mac;
+        private final byte[] input;
+        private final byte[] digest = new byte[32];
+        // base64url 로 인코딩한 서명
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+
+        Buffers(Mac mac, int maxLength) {
+            this.mac = mac;
+            this.input = new byte[maxLength];
+        }
+
+        // doFinal 이 Mac 을 초기 상태로 되돌리므로 다시 init 하지 않는다.
+        void sign(byte[] source, int length) {
+            mac.update(source, 0, length);
+            try {
+                mac.doFinal(digest, 0);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+            ENCODER.encode(digest, signature);
+        }
+    }
+}
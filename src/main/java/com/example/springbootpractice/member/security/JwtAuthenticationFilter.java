@@ -1,12 +1,12 @@
 package com.example.springbootpractice.member.security;
 
+import com.example.springbootpractice.common.jfr.AuthFilterEvent;
 import com.example.springbootpractice.member.entity.Authority;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.data.redis.core.RedisTemplate;
+import io.jsonwebtoken.Claims;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.util.ObjectUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import javax.servlet.FilterChain;
@@ -18,16 +18,38 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    private final RedisTemplate<String, Object> redisTemplate;
+    private static final String REFRESH_REJECTED = "refresh-rejected";
+
+    private final TokenStore tokenStore;
     private final JwtProvider jwtProvider;
+    private final AccessTokenRenewer accessTokenRenewer;
 
-    public JwtAuthenticationFilter(RedisTemplate<String, Object> redisTemplate, JwtProvider jwtProvider) {
-        this.redisTemplate = redisTemplate;
+    public JwtAuthenticationFilter(TokenStore tokenStore, JwtProvider jwtProvider, AccessTokenRenewer accessTokenRenewer) {
+        this.tokenStore = tokenStore;
         this.jwtProvider = jwtProvider;
+        this.accessTokenRenewer = accessTokenRenewer;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        AuthFilterEvent event = new AuthFilterEvent();
+        event.begin();
+        String outcome = authenticate(request, response);
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = request.getRequestURI();
+            event.outcome = outcome;
+            event.commit();
+        }
+
+        if (REFRESH_REJECTED.equals(outcome)) {
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // 인증 결과를 JFR 이벤트의 outcome 으로 반환한다.
+    private String authenticate(HttpServletRequest request, HttpServletResponse response) {
         // Access / Refresh 헤더에서 토큰을 가져옴.
         String accessToken = jwtProvider.resolveToken(request);
         String refreshToken = jwtProvider.getHeaderToken(request, JwtProvider.REFRESH_TOKEN);
@@ -35,16 +57,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if(accessToken != null) {
             // 어세스 토큰값이 유효하다면 setAuthentication를 통해
             // security context에 인증 정보저장
-            if(jwtProvider.validateToken(accessToken)){
+            Claims[] verified = new Claims[1];
+            if(jwtProvider.checkToken(accessToken, claims -> verified[0] = claims) == TokenStatus.VALID){
                 // check access token
                 // Redis에 해당 accessToken logout 여부를 확인
-                String isLogout = (String) redisTemplate.opsForValue().get(accessToken);
-
                 // 로그아웃이 없는(되어 있지 않은) 경우 해당 토큰은 정상적으로 작동하기
-                if (ObjectUtils.isEmpty(isLogout)) {
-                    Authentication auth = jwtProvider.getAuthentication(accessToken);
-                    SecurityContextHolder.getContext().setAuthentication(auth);
+                if (tokenStore.isBlacklisted(accessToken, verified[0])) {
+                    return "revoked";
+                }
+                // 관리자 강제 로그아웃 이전에 발급된 토큰
+                if (tokenStore.isAccountRevoked(verified[0].getSubject(), verified[0].getIssuedAt())) {
+                    return "revoked";
                 }
+                Authentication auth = jwtProvider.getAuthentication(accessToken);
+                SecurityContextHolder.getContext().setAuthentication(auth);
+                // 만료가 가까우면 /user/refresh 없이 응답 헤더로 새 access token 을 내려준다.
+                String renewedToken = accessTokenRenewer.renew(verified[0]);
+                if (renewedToken != null) {
+                    jwtProvider.setHeaderAccessToken(response, renewedToken);
+                    return "renewed";
+                }
+                return "authenticated";
             }
             // 어세스 토큰이 만료된 상황 && 리프레시 토큰 또한 존재하는 상황
             else if (refreshToken != null) {
@@ -55,16 +88,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     // Security context에 인증 정보 넣기
                     Authentication auth = jwtProvider.getAuthentication(refreshToken);
                     SecurityContextHolder.getContext().setAuthentication(auth);
+                    return "refreshed";
                 }
                 // 리프레시 토큰이 만료 || 리프레시 토큰이 DB와 비교했을때 똑같지 않다면
                 else {
                     jwtExceptionHandler(response, "RefreshToken Expired", HttpStatus.BAD_REQUEST);
-                    return;
+                    return REFRESH_REJECTED;
                 }
             }
+            return "invalid";
         }
-
-        filterChain.doFilter(request, response);
+        return "anonymous";
     }
 
     // Jwt 예외처리
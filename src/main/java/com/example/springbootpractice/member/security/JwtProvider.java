@@ -1,14 +1,15 @@
 package com.example.springbootpractice.member.security;
 
+import com.example.springbootpractice.common.jfr.JwtEvent;
 import com.example.springbootpractice.member.dto.TokenDto;
 import com.example.springbootpractice.member.entity.Authority;
 import com.example.springbootpractice.member.service.UserDetailServiceImpl;
 import io.jsonwebtoken.Claims;
 import com.example.springbootpractice.member.service.MemberServiceImpl;
-import io.jsonwebtoken.Jws;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -22,10 +23,14 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @RequiredArgsConstructor
 @Component
@@ -36,35 +41,81 @@ public class JwtProvider {
 
     private Key secretKey;
 
+    private HmacJwsCodec jwsCodec;
+
     // Access token 만료시간 : 1Hour
     public static final long ACCESS_TIME =  24 * 60 * 60 * 1000L;   //하루
     // Refresh token 만료시간 : 1Hour
     public static final long REFRESH_TIME =  14 * 24 * 60 * 60 * 1000L; //2주
     public static final String ACCESS_TOKEN = "Access_Token";
     public static final String REFRESH_TOKEN = "Refresh_Token";
+    // 최초 로그인 시각(초). 재발급된 access token 에도 그대로 이어지며 재발급은 이 시각부터 REFRESH_TIME 까지만 가능하다.
+    public static final String AUTH_TIME = "auth_time";
+    private static final String BEARER_PREFIX = "Bearer ";
+    // 발급하는 토큰은 수백 바이트이므로 이보다 긴 값은 HMAC 계산 전에 거른다.
+    private static final int MAX_TOKEN_LENGTH = 4096;
+    private static final byte[] EXP_CLAIM = "\"exp\"".getBytes(StandardCharsets.US_ASCII);
 
 
     private final UserDetailServiceImpl userDetailsService;
 
     private final RedisTemplate<String, Object> redisTemplate;
 
+    private final TokenStore tokenStore;
+
     @PostConstruct
     protected void init() {
         secretKey = Keys.hmacShaKeyFor(salt.getBytes(StandardCharsets.UTF_8));
+        jwsCodec = new HmacJwsCodec(secretKey, MAX_TOKEN_LENGTH);
     }
 
     // 토큰 생성
     public String createToken(String account, List<Authority> roles, String type) {
+        long issuedAt = System.currentTimeMillis() / 1000;
+        // iat 는 초 단위라서 같은 초에 로그아웃(계정 폐기)한 직후 로그인하면 새 토큰도 폐기 대상이 된다.
+        // 이 경우 iat 를 다음 초로 올린다. (1초 미만 미래의 iat 는 검증에 영향이 없다)
+        if (tokenStore.isAccountRevoked(account, new Date(issuedAt * 1000))) {
+            issuedAt++;
+        }
+        return sign(account, roles, type, issuedAt, issuedAt);
+    }
+
+    // 검증된 access token 의 sub, roles, auth_time 을 그대로 사용해 새 access token 을 만든다. (DB, Redis 조회 없음)
+    // 만료는 auth_time + REFRESH_TIME 을 넘지 않는다. auth_time 이 없는 토큰은 재발급하지 않는다.
+    public String renewAccessToken(Claims claims) {
+        Long authTime = getAuthTime(claims);
+        if (authTime == null) {
+            return null;
+        }
+        return sign(claims.getSubject(), claims.get("roles"), ACCESS_TOKEN, System.currentTimeMillis() / 1000, authTime);
+    }
+
+    // auth_time claim (초). 없거나 숫자가 아니면 null
+    public static Long getAuthTime(Claims claims) {
+        Object authTime = claims.get(AUTH_TIME);
+        return authTime instanceof Number ? ((Number) authTime).longValue() : null;
+    }
+
+    // jjwt builder 와 같은 순서(sub, roles, iat, exp)와 단위(초)로 claims 를 만들고 auth_time 을 덧붙인다.
+    private String sign(String account, Object roles, String type, long issuedAt, long authTime) {
         long time = type.equals(ACCESS_TOKEN) ? ACCESS_TIME : REFRESH_TIME;
-        Claims claims = Jwts.claims().setSubject(account);
+        long now = System.currentTimeMillis();
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put(Claims.SUBJECT, account);
         claims.put("roles", roles);
-        Date now = new Date();
-        return Jwts.builder()
-                .setClaims(claims)
-                .setIssuedAt(now)
-                .setExpiration(new Date(now.getTime() + time))
-                .signWith(secretKey, SignatureAlgorithm.HS256)
-                .compact();
+        claims.put(Claims.ISSUED_AT, issuedAt);
+        claims.put(Claims.EXPIRATION, Math.min((now + time) / 1000, authTime + REFRESH_TIME / 1000));
+        claims.put(AUTH_TIME, authTime);
+        JwtEvent event = new JwtEvent();
+        event.begin();
+        String token = jwsCodec.sign(claims);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = "sign";
+            event.outcome = type;
+            event.commit();
+        }
+        return token;
     }
 
     // header 토큰을 가져오는 기능
@@ -91,28 +142,31 @@ public class JwtProvider {
     }
 
     // Bearer 검증
-    private String getClaimFromToken(String token){
-        if (!token.substring(0, "BEARER ".length()).equalsIgnoreCase("BEARER ")) {
+    // 접두어는 대소문자 구분 없이 비교하고, 앞뒤 공백을 제외한 토큰만 한 번에 잘라낸다.
+    // 같은 JWS 가 여러 헤더 표기로 들어올 수 있으므로 토큰 비교/저장은 이 결과(compact JWS)로 한다.
+    static String getClaimFromToken(String token){
+        if (token == null || !token.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
             return null;
-        } else {
-            token = token.split(" ")[1].trim();
         }
-        return token;
+        int start = BEARER_PREFIX.length();
+        int end = token.length();
+        while (start < end && token.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && token.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return start == end ? null : token.substring(start, end);
     }
 
     // 토큰에 담겨있는 유저 account 획득
     public String getAccount(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(getClaimFromToken(token))
-                .getBody()
-                .getSubject();
+        return jwsCodec.parse(getClaimFromToken(token)).getSubject();
     }
 
     public List<Authority> getRoles(String token) {
         token = getClaimFromToken(token);
-        return (List<Authority>) Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody().get("roles");
+        return (List<Authority>) jwsCodec.parse(token).get("roles");
     }
 
     // Authorization Header를 통해 인증을 한다.
@@ -122,22 +176,108 @@ public class JwtProvider {
 
     // 토큰 검증
     public boolean validateToken(String token) {
+        return checkToken(token) == TokenStatus.VALID;
+    }
+
+    // 토큰 검증 결과를 예외 없이 반환한다.
+    // 형식(세그먼트 수, 길이)과 payload 의 exp 를 먼저 확인해서
+    // 만료되었거나 깨진 토큰은 서명 검증(HMAC)과 jjwt 예외 생성 없이 걸러낸다.
+    public TokenStatus checkToken(String token) {
+        return checkToken(token, null);
+    }
+
+    // VALID 인 경우 검증된 claims 를 claimsConsumer 로 넘긴다. (토큰 introspection 에서 재파싱 없이 사용)
+    public TokenStatus checkToken(String token, Consumer<Claims> claimsConsumer) {
+        JwtEvent event = new JwtEvent();
+        event.begin();
+        TokenStatus status = verify(token, claimsConsumer);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = "verify";
+            event.outcome = status.name();
+            event.commit();
+        }
+        return status;
+    }
+
+    private TokenStatus verify(String token, Consumer<Claims> claimsConsumer) {
+        String jws = getClaimFromToken(token);
+        if (jws == null || jws.length() > MAX_TOKEN_LENGTH) {
+            return TokenStatus.MALFORMED;
+        }
+        int firstDot = jws.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : jws.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0 || secondDot == jws.length() - 1 || jws.indexOf('.', secondDot + 1) >= 0) {
+            return TokenStatus.MALFORMED;
+        }
+
+        long expiration = readExpiration(jws, firstDot + 1, secondDot);
+        if (expiration < 0) {
+            return TokenStatus.MALFORMED;
+        }
+        // 만료되었을 시 서명 검증 생략
+        if (expiration * 1000 <= System.currentTimeMillis()) {
+            return TokenStatus.EXPIRED;
+        }
+
+        try {
+            Claims claims = jwsCodec.parse(jws);
+            if (claimsConsumer != null) {
+                claimsConsumer.accept(claims);
+            }
+            return TokenStatus.VALID;
+        } catch (ExpiredJwtException e) {
+            return TokenStatus.EXPIRED;
+        } catch (SignatureException e) {
+            return TokenStatus.BAD_SIGNATURE;
+        } catch (JwtException | IllegalArgumentException e) {
+            return TokenStatus.MALFORMED;
+        }
+    }
+
+    // payload 를 디코딩해서 "exp" 값(초)만 읽는다. 없거나 읽을 수 없으면 -1
+    private long readExpiration(String jws, int payloadStart, int payloadEnd) {
+        byte[] payload;
         try {
-            token = getClaimFromToken(token);
-            Jws<Claims> claims = Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token);
-            // 만료되었을 시 false
-            return !claims.getBody().getExpiration().before(new Date());
-        } catch (Exception e) {
-            return false;
+            payload = Base64.getUrlDecoder().decode(jws.substring(payloadStart, payloadEnd));
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+
+        int i = indexOf(payload, EXP_CLAIM);
+        if (i < 0) {
+            return -1;
+        }
+        i += EXP_CLAIM.length;
+        while (i < payload.length && (payload[i] == ' ' || payload[i] == ':')) {
+            i++;
+        }
+        long expiration = 0;
+        int digits = 0;
+        while (i < payload.length && payload[i] >= '0' && payload[i] <= '9' && digits < 18) {
+            expiration = expiration * 10 + (payload[i] - '0');
+            i++;
+            digits++;
+        }
+        return digits == 0 ? -1 : expiration;
+    }
+
+    private static int indexOf(byte[] source, byte[] target) {
+        outer:
+        for (int i = 0; i <= source.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (source[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
         }
+        return -1;
     }
 
     public Long getExpiration(String accessToken){
         accessToken = getClaimFromToken(accessToken);
-        Date expiration = Jwts.parserBuilder()
-                .setSigningKey(secretKey).build()
-                .parseClaimsJws(accessToken).getBody()
-                .getExpiration();
+        Date expiration = jwsCodec.parse(accessToken).getExpiration();
         long now = new Date().getTime();
         return (expiration.getTime() - now);
     }
@@ -149,7 +289,7 @@ public class JwtProvider {
 
         // UserDetail의 username인 Email 정보를 얻어옴
         String email = getAccount(token);
-        String tokenFromRedis = (String) redisTemplate.opsForValue().get("RT:"+ email);
+        String tokenFromRedis = tokenStore.getRefreshToken(email);
 
         return refreshToken != null && refreshToken.equals(tokenFromRedis);
     }
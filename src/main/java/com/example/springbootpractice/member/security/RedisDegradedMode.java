@@ -0,0 +1,9 @@
+package com.example.springbootpractice.member.security;
+
+// Redis 장애(타임아웃, circuit open) 시 블랙리스트 확인 방식
+public enum RedisDegradedMode {
+    // 로컬에 복제된 폐기 목록에 없으면 통과시킨다.
+    FAIL_OPEN,
+    // 모든 access token 을 폐기된 것으로 본다.
+    FAIL_CLOSED
+}
@@ -0,0 +1,9 @@
+package com.example.springbootpractice.member.security;
+
+// JwtProvider.checkToken 의 검증 결과
+public enum TokenStatus {
+    VALID,
+    EXPIRED,
+    BAD_SIGNATURE,
+    MALFORMED
+}
@@ -0,0 +1,402 @@
+package com.example.springbootpractice.member.security;
+
+import com.example.springbootpractice.config.RedisReadCache;
+import io.jsonwebtoken.Claims;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ObjectUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 요청 경로에서 사용하는 Redis 토큰 저장소 호출(블랙리스트, RT: 조회, 폐기)을 circuit breaker 로 감싼다.
+// Redis 가 느리거나 내려가면 command timeout 또는 open 상태의 breaker 가 즉시 실패시키고
+// redis.degraded-mode 에 따라 로컬 폐기 목록(FAIL_OPEN) 또는 거부(FAIL_CLOSED)로 처리한다.
+// 로컬 폐기 목록은 이 노드에서 폐기한 토큰과 다른 노드가 REVOCATION_CHANNEL 로 발행한 토큰을 만료시각까지 보관한다.
+// 로그아웃(revoke)은 로그인 한 번(sub + auth_time) 단위로 폐기하므로 그 로그인에서 재발급된 토큰도 함께 거부되고
+// 같은 계정의 다른 로그인(기기)은 영향을 받지 않는다.
+// 계정 단위 강제 로그아웃(revokeAccounts)은 "Revoked accounts" sorted set 에 (email, 폐기시각)을 남기고
+// ACCOUNT_REVOCATION_CHANNEL 로 알린다. 각 노드는 이를 로컬에 두고 폐기시각 이전에 발급된 access token 을 거부한다.
+// pub/sub 은 구독 연결이 끊긴 동안의 메시지를 다시 보내 주지 않으므로 sorted set 에서 주기적으로 다시 읽어 맞춘다.
+@Slf4j
+@Component
+public class TokenStore {
+    public static final String REVOCATION_CHANNEL = "token-revocations";
+    public static final String ACCOUNT_REVOCATION_CHANNEL = "account-revocations";
+    private static final String REVOKED_ACCOUNTS = "Revoked accounts";
+    private static final String REFRESH_TOKEN_PREFIX = "RT:";
+    private static final String BLACKLIST_PREFIX = "Bearer ";
+    private static final String LOGOUT = "logout";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, Object> replicaRedisTemplate;
+    private final RedisReadCache redisReadCache;
+    private final MeterRegistry meterRegistry;
+
+    // 토큰 -> 만료시각(ms)
+    private final Map<String, Long> localRevocations = new ConcurrentHashMap<>();
+    // email -> 폐기시각(ms). 폐기시각 + ACCESS_TIME 이 지나면 그 전에 발급된 access token 은 모두 만료된다.
+    // 항목을 버리면 폐기된 토큰이 다시 통과하므로 크기 제한 없이 두고, 만료된 항목만 주기적으로 정리한다.
+    // (최대 크기는 ACCESS_TIME 동안 폐기된 계정 수)
+    private final Map<String, Long> revokedAccounts = new ConcurrentHashMap<>();
+    private static final long ACCOUNT_PRUNE_INTERVAL_MILLIS = 60_000L;
+    private volatile long nextAccountPruneAt;
+    // 노드 간 시계 차이와 동기화 중에 추가된 항목을 놓치지 않도록 이전 동기화 시각보다 이만큼 앞에서부터 읽는다.
+    private static final long ACCOUNT_SYNC_OVERLAP_MILLIS = 60_000L;
+    // 마지막으로 성공한 동기화의 시작 시각(ms). 0 이면 아직 읽지 않았다.
+    private volatile long accountsSyncedAt;
+    private ScheduledExecutorService accountSync;
+
+    @Value("${redis.degraded-mode:FAIL_OPEN}")
+    private RedisDegradedMode degradedMode;
+
+    @Value("${redis.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${redis.circuit-breaker.slow-call-duration:200ms}")
+    private Duration slowCallDuration;
+
+    @Value("${redis.circuit-breaker.minimum-number-of-calls:20}")
+    private int minimumNumberOfCalls;
+
+    @Value("${redis.circuit-breaker.wait-duration-in-open-state:5s}")
+    private Duration waitDurationInOpenState;
+
+    @Value("${redis.local-revocations.max-entries:100000}")
+    private int maxLocalRevocations;
+
+    // "Revoked accounts" 재동기화 주기. 0 이면 기동 시와 breaker 가 닫힐 때만 읽는다.
+    @Value("${redis.revoked-accounts.sync-interval:10s}")
+    private Duration accountSyncInterval;
+
+    private CircuitBreaker circuitBreaker;
+
+    public TokenStore(RedisTemplate<String, Object> redisTemplate,
+                      @Qualifier("replicaRedisTemplate") RedisTemplate<String, Object> replicaRedisTemplate,
+                      RedisReadCache redisReadCache,
+                      MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.replicaRedisTemplate = replicaRedisTemplate;
+        this.redisReadCache = redisReadCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    protected void init() {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .slidingWindowSize(Math.max(minimumNumberOfCalls, 1))
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        circuitBreaker = registry.circuitBreaker("redis-token-store");
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        meterRegistry.gauge("redis.token_store.local_revocations", localRevocations, Map::size);
+        meterRegistry.gauge("redis.token_store.revoked_accounts", revokedAccounts, Map::size);
+        syncRevokedAccounts();
+
+        accountSync = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "revoked-accounts-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!accountSyncInterval.isZero()) {
+            accountSync.scheduleWithFixedDelay(this::syncRevokedAccounts,
+                    accountSyncInterval.toMillis(), accountSyncInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        // Redis 가 복구되면 (구독도 끊겼을 수 있으므로) 주기를 기다리지 않고 바로 맞춘다.
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.CLOSED) {
+                accountSync.execute(this::syncRevokedAccounts);
+            }
+        });
+    }
+
+    @PreDestroy
+    protected void close() {
+        if (accountSync != null) {
+            accountSync.shutdownNow();
+        }
+    }
+
+    // 마지막 동기화 이후(처음이면 ACCESS_TIME 이내)에 폐기된 계정을 sorted set 에서 읽어 로컬 목록에 합친다.
+    // 실패하면 동기화 시각을 옮기지 않으므로 다음 동기화가 끊겨 있던 구간 전체를 다시 읽는다.
+    void syncRevokedAccounts() {
+        long startedAt = System.currentTimeMillis();
+        long from = Math.max(accountsSyncedAt - ACCOUNT_SYNC_OVERLAP_MILLIS, startedAt - JwtProvider.ACCESS_TIME);
+        Set<ZSetOperations.TypedTuple<Object>> accounts = execute("sync-revoked-accounts", () ->
+                redisTemplate.opsForZSet().rangeByScoreWithScores(REVOKED_ACCOUNTS, from, Double.POSITIVE_INFINITY));
+        if (accounts == null) {
+            return;
+        }
+        for (ZSetOperations.TypedTuple<Object> account : accounts) {
+            if (account.getScore() != null) {
+                revokedAccounts.merge(String.valueOf(account.getValue()), account.getScore().longValue(), Math::max);
+            }
+        }
+        accountsSyncedAt = startedAt;
+    }
+
+    // 블랙리스트 키는 헤더 문자열이 아니라 꺼낸 compact JWS 로 만든다. ("Bearer " + JWS)
+    // "Bearer  X", "bearer X\t" 처럼 표기만 다른 같은 토큰이 폐기 항목을 비켜 가지 않게 한다.
+    static String blacklistKey(String accessToken) {
+        String jws = JwtProvider.getClaimFromToken(accessToken);
+        return jws == null ? accessToken : BLACKLIST_PREFIX + jws;
+    }
+
+    // 검증된 토큰의 폐기 키. auth_time 이 있으면 로그인 단위 키("Bearer <sub> <auth_time>")이므로
+    // 재발급된 토큰도 원래 토큰과 같은 키를 가진다. auth_time 이 없는(이전에 발급된) 토큰은 compact JWS 키를 쓴다.
+    public static String revocationKey(String accessToken, Claims claims) {
+        Long authTime = claims == null ? null : JwtProvider.getAuthTime(claims);
+        if (authTime == null || claims.getSubject() == null) {
+            return blacklistKey(accessToken);
+        }
+        return BLACKLIST_PREFIX + claims.getSubject() + " " + authTime;
+    }
+
+    // access token 이 로그아웃(폐기)되었는지 확인한다. replica 에서 읽는다.
+    public boolean isBlacklisted(String accessToken) {
+        return isBlacklisted(accessToken, null);
+    }
+
+    // claims 는 accessToken 을 검증한 결과이다. (revocationKey)
+    public boolean isBlacklisted(String accessToken, Claims claims) {
+        String key = revocationKey(accessToken, claims);
+        if (isLocallyRevoked(key)) {
+            return true;
+        }
+        Boolean blacklisted = execute("blacklist", () -> {
+            Object value = replicaRedisTemplate.opsForValue().get(key);
+            return !ObjectUtils.isEmpty(value);
+        });
+        if (blacklisted == null) {
+            // 로컬 목록에 없다는 것은 위에서 확인했다.
+            return degradedMode == RedisDegradedMode.FAIL_CLOSED;
+        }
+        return blacklisted;
+    }
+
+    // 여러 폐기 키(revocationKey)의 폐기 여부를 한 번의 MGET 으로 확인한다. 결과는 입력 순서와 같다.
+    public boolean[] areBlacklisted(List<String> accessTokens) {
+        boolean[] blacklisted = new boolean[accessTokens.size()];
+        List<String> remoteTokens = new ArrayList<>(accessTokens.size());
+        List<Integer> remoteIndexes = new ArrayList<>(accessTokens.size());
+        for (int i = 0; i < accessTokens.size(); i++) {
+            String key = blacklistKey(accessTokens.get(i));
+            if (isLocallyRevoked(key)) {
+                blacklisted[i] = true;
+            } else {
+                remoteTokens.add(key);
+                remoteIndexes.add(i);
+            }
+        }
+        if (remoteTokens.isEmpty()) {
+            return blacklisted;
+        }
+        List<Object> values = execute("blacklist-batch", () -> replicaRedisTemplate.opsForValue().multiGet(remoteTokens));
+        for (int i = 0; i < remoteTokens.size(); i++) {
+            blacklisted[remoteIndexes.get(i)] = values == null
+                    ? degradedMode == RedisDegradedMode.FAIL_CLOSED
+                    : !ObjectUtils.isEmpty(values.get(i));
+        }
+        return blacklisted;
+    }
+
+    // 저장된 refresh token. Redis 를 사용할 수 없으면 검증할 수 없으므로 null (재발급 거부)
+    public String getRefreshToken(String email) {
+        return execute("refresh-token", () -> redisReadCache.get(REFRESH_TOKEN_PREFIX + email));
+    }
+
+    // 로그아웃. 검증된 access token 이 속한 로그인을 폐기하고 다른 노드에 알린다.
+    // 로그인 단위 키는 그 로그인에서 마지막으로 재발급된 토큰이 만료될 때까지(최대 ACCESS_TIME) 남긴다.
+    public void revoke(String accessToken, Claims claims) {
+        long now = System.currentTimeMillis();
+        long expiresAt = claims.getExpiration().getTime();
+        Long authTime = JwtProvider.getAuthTime(claims);
+        if (authTime != null) {
+            expiresAt = Math.max(expiresAt, Math.min(now + JwtProvider.ACCESS_TIME, authTime * 1000 + JwtProvider.REFRESH_TIME));
+        }
+        revoke(revocationKey(accessToken, claims), expiresAt - now);
+    }
+
+    // 폐기 키를 남은 유효시간 동안 폐기 처리하고 다른 노드에 알린다.
+    // Redis 를 사용할 수 없으면 이 노드의 로컬 폐기 목록에만 남기고 로그아웃은 계속한다.
+    public void revoke(String key, long expirationMillis) {
+        rememberRevocation(key, System.currentTimeMillis() + expirationMillis);
+        execute("revoke", () -> {
+            redisTemplate.opsForValue().set(key, LOGOUT, expirationMillis, TimeUnit.MILLISECONDS);
+            redisTemplate.convertAndSend(REVOCATION_CHANNEL, (System.currentTimeMillis() + expirationMillis) + " " + key);
+            return Boolean.TRUE;
+        });
+    }
+
+    // 로그아웃한 계정의 refresh token(RT:)을 지운다. RT: 는 계정마다 하나이다.
+    // Redis 를 사용할 수 없으면 지우지 못하지만 그 동안은 refresh token 검증(getRefreshToken)도 거부된다.
+    public void deleteRefreshToken(String email) {
+        execute("delete-refresh-token", () -> redisTemplate.delete(REFRESH_TOKEN_PREFIX + email));
+    }
+
+    // 폐기시각 이전에 발급된 토큰이면 true. 로컬 목록만 확인하므로 Redis 호출이 없다.
+    public boolean isAccountRevoked(String email, Date issuedAt) {
+        Long revokedAt = email == null ? null : revokedAccounts.get(email);
+        if (revokedAt == null) {
+            return false;
+        }
+        if (revokedAt + JwtProvider.ACCESS_TIME < System.currentTimeMillis()) {
+            revokedAccounts.remove(email, revokedAt);
+            return false;
+        }
+        // iat 는 초 단위이므로 폐기와 같은 초에 발급된 토큰도 거부된다.
+        return issuedAt == null || issuedAt.getTime() <= revokedAt;
+    }
+
+    // 계정들의 refresh token(RT:)을 지우고 폐기를 기록/전파한다. 파이프라인 한 번(왕복 1회)으로 보낸다.
+    // 반환값은 RT: 가 있던(로그인 중이던) 계정 수. Redis 를 사용할 수 없으면 로컬에만 기록하고 0 을 반환한다.
+    public int revokeAccounts(List<String> emails) {
+        if (emails.isEmpty()) {
+            return 0;
+        }
+        long revokedAt = System.currentTimeMillis();
+        rememberAccountRevocations(emails, revokedAt);
+
+        Set<ZSetOperations.TypedTuple<Object>> accounts = new HashSet<>();
+        emails.forEach(email -> accounts.add(new DefaultTypedTuple<Object>(email, (double) revokedAt)));
+        List<Object> results = execute("revoke-accounts", () -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+                // cluster 에서 slot 이 다른 키를 한 DEL 로 보낼 수 없으므로 키마다 DEL 한다.
+                for (String email : emails) {
+                    redis.delete(REFRESH_TOKEN_PREFIX + email);
+                }
+                redis.opsForZSet().add(REVOKED_ACCOUNTS, accounts);
+                redis.opsForZSet().removeRangeByScore(REVOKED_ACCOUNTS, Double.NEGATIVE_INFINITY, revokedAt - JwtProvider.ACCESS_TIME);
+                redis.convertAndSend(ACCOUNT_REVOCATION_CHANNEL, revokedAt + " " + String.join(" ", emails));
+                return null;
+            }
+        }));
+        if (results == null) {
+            return 0;
+        }
+
+        int sessions = 0;
+        for (int i = 0; i < emails.size(); i++) {
+            Object deleted = results.get(i);
+            if (Boolean.TRUE.equals(deleted) || (deleted instanceof Number && ((Number) deleted).longValue() > 0)) {
+                sessions++;
+            }
+        }
+        return sessions;
+    }
+
+    // ACCOUNT_REVOCATION_CHANNEL 구독. 본문은 "<폐기시각> <email> <email> ..." 이다.
+    public void onAccountRevocationMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ");
+        try {
+            long revokedAt = Long.parseLong(parts[0]);
+            rememberAccountRevocations(Arrays.asList(parts).subList(1, parts.length), revokedAt);
+        } catch (NumberFormatException e) {
+            log.debug("TokenStore.onAccountRevocationMessage ignored malformed message: {}", parts[0]);
+        }
+    }
+
+    // REVOCATION_CHANNEL 구독 (RedisConfig.redisMessageListenerContainer)
+    public void onRevocationMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        // RedisTemplate 의 StringRedisSerializer 로 발행되므로 본문은 "<만료시각> <토큰>" 문자열이다.
+        int separator = body.indexOf(' ');
+        if (separator <= 0) {
+            return;
+        }
+        try {
+            long expiresAt = Long.parseLong(body.substring(0, separator));
+            rememberRevocation(blacklistKey(body.substring(separator + 1)), expiresAt);
+        } catch (NumberFormatException e) {
+            log.debug("TokenStore.onRevocationMessage ignored malformed message: {}", body);
+        }
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> T execute(String operation, Supplier<T> call) {
+        try {
+            return circuitBreaker.executeSupplier(call);
+        } catch (RuntimeException e) {
+            meterRegistry.counter("redis.token_store.fallbacks",
+                    "operation", operation, "mode", degradedMode.name()).increment();
+            log.debug("TokenStore.{} fallback ({}): {}", operation, circuitBreaker.getState(), e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean isLocallyRevoked(String accessToken) {
+        Long expiresAt = localRevocations.get(accessToken);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt < System.currentTimeMillis()) {
+            localRevocations.remove(accessToken, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    private void rememberAccountRevocations(List<String> emails, long revokedAt) {
+        for (String email : emails) {
+            revokedAccounts.merge(email, revokedAt, Math::max);
+        }
+        long now = System.currentTimeMillis();
+        if (now >= nextAccountPruneAt) {
+            nextAccountPruneAt = now + ACCOUNT_PRUNE_INTERVAL_MILLIS;
+            long expiredBefore = now - JwtProvider.ACCESS_TIME;
+            revokedAccounts.values().removeIf(at -> at < expiredBefore);
+        }
+    }
+
+    private void rememberRevocation(String accessToken, long expiresAt) {
+        if (localRevocations.size() >= maxLocalRevocations) {
+            long now = System.currentTimeMillis();
+            localRevocations.values().removeIf(until -> until < now);
+            if (localRevocations.size() >= maxLocalRevocations) {
+                log.warn("TokenStore local revocation set is full ({} entries)", maxLocalRevocations);
+                return;
+            }
+        }
+        localRevocations.put(accessToken, expiresAt);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.springbootpractice.member.service;
+
+// 이메일 인증번호 발급/검증 방식 (auth-code.mode)
+public enum AuthCodeMode {
+    // 무작위 번호를 "AuthCode <email>" 에 저장하고 조회/삭제한다.
+    REDIS,
+    // email 과 시간 구간의 HMAC 으로 번호를 만들고 다시 계산해서 비교한다. 번호는 저장하지 않는다.
+    HMAC
+}
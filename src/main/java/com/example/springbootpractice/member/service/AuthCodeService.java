@@ -0,0 +1,217 @@
+package com.example.springbootpractice.member.service;
+
+import com.example.springbootpractice.common.jfr.RedisCallEvent;
+import com.example.springbootpractice.config.RedisReadCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+// 이메일 인증번호 발급/확인/소모.
+// REDIS 모드: 발급할 때 "AuthCode <email>" 에 저장하고, 가입 시 일치할 때만 지운다.
+// HMAC 모드: 번호 = HMAC-SHA256(key, email, 시간 구간) 을 6자리로 자른 값. 현재/이전 구간 번호를 다시 계산해서 비교하므로
+//   발급 시 Redis 를 쓰지 않는다. 유효 시간은 구간 길이(spring.mail.auth-code-expiration-millis)의 1~2배이고
+//   같은 구간 안에서 다시 요청하면 같은 번호가 간다.
+//   무차별 대입과 재사용을 막기 위해 틀린 횟수("AuthCode {<email>} attempts")와
+//   사용한 번호("AuthCode {<email>} used <code>")만 두 구간 동안 보관한다. ( {} 는 cluster hash tag )
+@Service
+public class AuthCodeService {
+    private static final String AUTH_CODE_PREFIX = "AuthCode ";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    // 다른 용도의 HMAC 과 구분하기 위한 입력 접두어
+    private static final String HMAC_CONTEXT = "auth-code|";
+    private static final int CODE_MODULUS = 1_000_000;
+
+    // 값이 ARGV[1] 과 같으면 삭제한다. (GETDEL 은 틀린 번호에도 지우므로 쓰지 않는다)
+    private static final RedisScript<Long> CONSUME_AUTH_CODE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+    // 틀린 횟수를 늘리고 처음이면 만료를 건다.
+    private static final RedisScript<Long> RECORD_FAILURE = new DefaultRedisScript<>(
+            "local n = redis.call('incr', KEYS[1]) " +
+            "if n == 1 then redis.call('pexpire', KEYS[1], ARGV[1]) end " +
+            "return n",
+            Long.class);
+    // 틀린 횟수가 한도 미만이고 처음 사용하는 번호면 사용 표시를 남기고 1, 재사용이면 0, 잠겼으면 -1
+    private static final RedisScript<Long> MARK_USED = new DefaultRedisScript<>(
+            "if tonumber(redis.call('get', KEYS[1]) or '0') >= tonumber(ARGV[1]) then return -1 end " +
+            "if redis.call('set', KEYS[2], '1', 'NX', 'PX', ARGV[2]) then return 1 end " +
+            "return 0",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisReadCache redisReadCache;
+
+    private ThreadLocal<Mac> macs;
+
+    @Value("${auth-code.mode:REDIS}")
+    private AuthCodeMode mode;
+
+    // HMAC 모드의 키. 없으면 JWT 키를 사용한다. (입력 접두어로 용도를 구분)
+    @Value("${auth-code.hmac.secret:${jwt.secret.key}}")
+    private String secret;
+
+    // HMAC 모드에서 이 횟수만큼 틀리면 두 구간 동안 확인하지 않는다.
+    @Value("${auth-code.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${spring.mail.auth-code-expiration-millis}")
+    private long authCodeExpirationMillis;
+
+    public AuthCodeService(RedisTemplate<String, Object> redisTemplate, RedisReadCache redisReadCache) {
+        this.redisTemplate = redisTemplate;
+        this.redisReadCache = redisReadCache;
+    }
+
+    @PostConstruct
+    protected void init() {
+        if (mode != AuthCodeMode.HMAC) {
+            return;
+        }
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to initialize " + HMAC_ALGORITHM, e);
+            }
+        });
+        // 키가 잘못되었으면 기동 시 실패한다.
+        macs.get();
+    }
+
+    // 메일로 보낼 인증번호
+    public String issue(String email) {
+        if (mode == AuthCodeMode.HMAC) {
+            return derive(email, currentWindow());
+        }
+        String authCode = createCode();
+        // 이메일 인증 요청 시 인증 번호 Redis에 저장 ( key = "AuthCode " + Email / value = AuthCode )
+        RedisCallEvent.run("set-auth-code", () -> redisTemplate.opsForValue().set(AUTH_CODE_PREFIX + email,
+                authCode, Duration.ofMillis(authCodeExpirationMillis)));
+        return authCode;
+    }
+
+    // 인증번호가 맞는지만 확인한다. (소모하지 않음)
+    public boolean verify(String email, String authCode) {
+        if (email == null || authCode == null) {
+            return false;
+        }
+        if (mode == AuthCodeMode.REDIS) {
+            String redisAuthCode = RedisCallEvent.record("get-auth-code", () -> redisReadCache.get(AUTH_CODE_PREFIX + email));
+            return redisAuthCode != null && redisAuthCode.equals(authCode);
+        }
+        if (!matches(email, authCode)) {
+            recordFailure(email);
+            return false;
+        }
+        List<Object> state = RedisCallEvent.record("get-auth-code-state", () ->
+                redisTemplate.opsForValue().multiGet(List.of(attemptsKey(email), usedKey(email, authCode))));
+        Object attempts = state == null ? null : state.get(0);
+        Object used = state == null ? null : state.get(1);
+        return (attempts == null || Long.parseLong(attempts.toString()) < maxAttempts) && used == null;
+    }
+
+    // 맞는 인증번호면 소모하고 true. 같은 번호로 두 번 성공할 수 없다.
+    public boolean consume(String email, String authCode) {
+        if (email == null || authCode == null) {
+            return false;
+        }
+        if (mode == AuthCodeMode.REDIS) {
+            // 저장된 인증번호와 같을 때만 삭제한다. 틀린 번호로는 소모되지 않는다.
+            Long deleted = RedisCallEvent.record("consume-auth-code", () ->
+                    redisTemplate.execute(CONSUME_AUTH_CODE, List.of(AUTH_CODE_PREFIX + email), authCode));
+            return deleted != null && deleted > 0;
+        }
+        if (!matches(email, authCode)) {
+            recordFailure(email);
+            return false;
+        }
+        Long marked = RedisCallEvent.record("mark-auth-code-used", () ->
+                redisTemplate.execute(MARK_USED, List.of(attemptsKey(email), usedKey(email, authCode)),
+                        String.valueOf(maxAttempts), String.valueOf(retentionMillis())));
+        return marked != null && marked > 0;
+    }
+
+    // consume 으로 소모한 인증번호를 되돌린다. (소모 후 가입이 중복이 아닌 이유로 실패한 경우)
+    // REDIS 모드는 남은 유효시간을 알 수 없으므로 발급 때와 같은 유효시간으로 다시 저장하되, 그 사이 새로 발급된 번호는 덮어쓰지 않는다.
+    // HMAC 모드는 사용 표시만 지운다. 번호 자체는 구간이 지나면 어차피 만료된다.
+    public void restore(String email, String authCode) {
+        if (email == null || authCode == null) {
+            return;
+        }
+        if (mode == AuthCodeMode.REDIS) {
+            RedisCallEvent.record("restore-auth-code", () -> redisTemplate.opsForValue().setIfAbsent(
+                    AUTH_CODE_PREFIX + email, authCode, Duration.ofMillis(authCodeExpirationMillis)));
+            return;
+        }
+        RedisCallEvent.record("restore-auth-code", () -> redisTemplate.delete(usedKey(email, authCode)));
+    }
+
+    // 현재 구간과 이전 구간의 번호를 상수 시간으로 비교한다.
+    private boolean matches(String email, String authCode) {
+        byte[] actual = authCode.getBytes(StandardCharsets.US_ASCII);
+        long window = currentWindow();
+        boolean current = MessageDigest.isEqual(actual, derive(email, window).getBytes(StandardCharsets.US_ASCII));
+        boolean previous = MessageDigest.isEqual(actual, derive(email, window - 1).getBytes(StandardCharsets.US_ASCII));
+        return current | previous;
+    }
+
+    // RFC 4226 의 dynamic truncation 으로 6자리를 만든다.
+    String derive(String email, long window) {
+        byte[] digest = macs.get().doFinal((HMAC_CONTEXT + email.toLowerCase(Locale.ROOT) + "|" + window)
+                .getBytes(StandardCharsets.UTF_8));
+        int offset = digest[digest.length - 1] & 0x0f;
+        int binary = ((digest[offset] & 0x7f) << 24)
+                | ((digest[offset + 1] & 0xff) << 16)
+                | ((digest[offset + 2] & 0xff) << 8)
+                | (digest[offset + 3] & 0xff);
+        return String.format("%06d", binary % CODE_MODULUS);
+    }
+
+    private void recordFailure(String email) {
+        RedisCallEvent.record("record-auth-code-failure", () ->
+                redisTemplate.execute(RECORD_FAILURE, List.of(attemptsKey(email)), String.valueOf(retentionMillis())));
+    }
+
+    private long currentWindow() {
+        return System.currentTimeMillis() / authCodeExpirationMillis;
+    }
+
+    // 번호가 유효할 수 있는 최대 시간 (현재 + 이전 구간)
+    private long retentionMillis() {
+        return authCodeExpirationMillis * 2;
+    }
+
+    private static String attemptsKey(String email) {
+        return AUTH_CODE_PREFIX + "{" + email.toLowerCase(Locale.ROOT) + "} attempts";
+    }
+
+    private static String usedKey(String email, String authCode) {
+        return AUTH_CODE_PREFIX + "{" + email.toLowerCase(Locale.ROOT) + "} used " + authCode;
+    }
+
+    private String createCode() {
+        int code_length = 6;
+        char[] charSet = new char[] { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9'};
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < code_length; i++) {
+            int idx = (int) (charSet.length * Math.random());
+            builder.append(charSet[idx]);
+        }
+        return builder.toString();
+    }
+}
@@ -2,16 +2,15 @@ package com.example.springbootpractice.member.service;
 
 import com.example.springbootpractice.common.BusinessLogicException;
 import com.example.springbootpractice.common.ExceptionCode;
+import com.example.springbootpractice.common.jfr.MailSendEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
-@Transactional
 @RequiredArgsConstructor
 public class MailService {
 
@@ -21,12 +20,23 @@ public class MailService {
                           String title,
                           String text) throws Exception {
         SimpleMailMessage emailForm = createEmailForm(toEmail, title, text);
+        MailSendEvent event = new MailSendEvent();
+        event.begin();
+        String outcome = "failed";
         try {
             emailSender.send(emailForm);
+            outcome = "sent";
         } catch (RuntimeException e) {
             log.debug("MailService.sendEmail exception occur toEmail: {}, " +
                     "title: {}, text: {}", toEmail, title, text);
             throw new BusinessLogicException(ExceptionCode.UNABLE_TO_SEND_EMAIL);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.title = title;
+                event.outcome = outcome;
+                event.commit();
+            }
         }
     }
 
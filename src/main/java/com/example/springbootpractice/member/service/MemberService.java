@@ -15,6 +15,9 @@ public interface MemberService {
     String findRegisteredEmail(String phone, String code) throws Exception;
     String forwardTempPassword(String email, String phone, String code) throws Exception;
     LoginResponseDto getMember(String account) throws Exception;
+    Long getMemberVersion(String account);
+    MemberSearchResponseDto searchMembers(String field, String prefix, String afterValue, Long afterId, int size);
+    MemberLookupResponseDto lookupMembers(List<String> emails, List<Long> ids);
 
     void sendCodeToEmail(String email) throws Exception;
     boolean verifiedCode(String email, String authCode);
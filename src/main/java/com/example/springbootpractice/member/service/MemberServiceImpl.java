@@ -1,63 +1,86 @@
 package com.example.springbootpractice.member.service;
 
+import com.example.springbootpractice.audit.entity.AuthAuditType;
+import com.example.springbootpractice.audit.service.AuthAuditService;
 import com.example.springbootpractice.common.BusinessLogicException;
 import com.example.springbootpractice.common.ExceptionCode;
+import com.example.springbootpractice.common.PhoneNumberUtils;
+import com.example.springbootpractice.common.jfr.RedisCallEvent;
 import com.example.springbootpractice.member.dto.*;
 import com.example.springbootpractice.member.entity.Authority;
 import com.example.springbootpractice.member.entity.Member;
 import com.example.springbootpractice.member.repository.MemberRepository;
 import com.example.springbootpractice.member.security.JwtProvider;
+import com.example.springbootpractice.member.security.TokenStatus;
+import com.example.springbootpractice.member.security.TokenStore;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletResponse;
-import javax.transaction.Transactional;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
-import java.time.Duration;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Random;
-import java.util.concurrent.TimeUnit;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MemberServiceImpl implements MemberService{
-    private final RedisTemplate<String, Object> redisTemplate;
     private final MemberRepository memberRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtProvider jwtProvider;
-    private static final String AUTH_CODE_PREFIX = "AuthCode ";
+    private final TokenStore tokenStore;
+    // 중복 키 위반: SQLState 23505 (H2, PostgreSQL), MySQL/MariaDB 는 SQLState 23000 + 오류 코드 1062 (ER_DUP_ENTRY)
+    private static final String UNIQUE_VIOLATION_STATE = "23505";
+    private static final int MYSQL_DUP_ENTRY = 1062;
+    private static final int MAX_SEARCH_SIZE = 100;
+    private static final int MAX_LOOKUP_SIZE = 1000;
+    // IN 절 하나에 넣는 값 수
+    private static final int LOOKUP_CHUNK_SIZE = 500;
     private final MailService mailService;
-
-    @Value("${spring.mail.auth-code-expiration-millis}")
-    private long authCodeExpirationMillis;
+    private final AuthAuditService authAuditService;
+    private final AuthCodeService authCodeService;
 
     @Override
+    @Transactional(readOnly = true)
     public List<Member> findMembers() {
         return memberRepository.findAll();
     }
 
+    // 트랜잭션(커넥션)은 회원 조회 쿼리에만 잡히고 bcrypt 비교와 Redis 쓰기 동안에는 반납된 상태다.
+    // 가입/비밀번호 변경 직후에도 로그인되도록 primary 에서 읽는다.
     @Override
-    @Transactional
     public LoginResponseDto logIn(LoginRequestDto request, HttpServletResponse response) {
-        Member member = memberRepository.findByEmail(request.getEmail()).orElseThrow(() ->
-                new BadCredentialsException("Invalid E-mail Information."));
+        Member member = memberRepository.findCredentialsByEmail(request.getEmail()).orElseThrow(() -> {
+            authAuditService.publish(AuthAuditType.LOGIN_FAILURE, request.getEmail());
+            return new BadCredentialsException("Invalid E-mail Information.");
+        });
 
         if (!passwordEncoder.matches(request.getPassword(), member.getPassword())) {
+            authAuditService.publish(AuthAuditType.LOGIN_FAILURE, request.getEmail());
             throw new BadCredentialsException("Password not matched.");
         }
 
         // 아이디 정보로 Token생성
         TokenDto tokenDto = jwtProvider.createAllToken(member.getEmail(), member.getRoles());
+        authAuditService.publish(AuthAuditType.LOGIN_SUCCESS, member.getEmail());
 
         return LoginResponseDto.builder()
                 .id(member.getId())
@@ -72,10 +95,11 @@ public class MemberServiceImpl implements MemberService{
     @Override
     public LoginResponseDto refreshUserInfo(String refreshToken) {
         String email = jwtProvider.getAccount(refreshToken);
-        Member member = memberRepository.findByEmail(email).orElseThrow(() ->
+        LoginResponseDto member = findProfile(email).orElseThrow(() ->
                 new BadCredentialsException("Invalid E-mail Information."));
         // refreshToken 도 재생성
         TokenDto tokenDto = jwtProvider.createAllToken(member.getEmail(), member.getRoles());
+        authAuditService.publish(AuthAuditType.REFRESH, member.getEmail());
 
         return LoginResponseDto.builder()
                 .id(member.getId())
@@ -87,60 +111,74 @@ public class MemberServiceImpl implements MemberService{
                 .build();
     }
 
+    // Redis 만 사용하므로 DB 트랜잭션을 잡지 않는다.
+    // 제시된 토큰의 로그인(기기)만 폐기한다. 그 로그인에서 재발급된 access token 도 같은 폐기 키로 거부되고
+    // 같은 계정의 다른 기기 세션은 유지된다. (계정 전체 로그아웃은 ForcedLogoutService)
     @Override
-    @Transactional
     public void logOut(String token) {
         // 로그아웃 하고 싶은 토큰이 유효한 지 먼저 검증하기
-        if (!jwtProvider.validateToken(token)){
+        Claims[] verified = new Claims[1];
+        if (jwtProvider.checkToken(token, claims -> verified[0] = claims) != TokenStatus.VALID){
             throw new IllegalArgumentException("로그아웃 : 유효하지 않은 토큰입니다.");
         }
 
         // Access Token에서 User email을 가져온다
-        Authentication authentication = jwtProvider.getAuthentication(token);
+        String account = verified[0].getSubject();
 
-        // Redis에서 해당 User email로 저장된 Refresh Token 이 있는지 여부를 확인 후에 있을 경우 삭제를 한다.
-        if (redisTemplate.opsForValue().get("RT:"+authentication.getName())!=null){
-            // Refresh Token을 삭제
-            redisTemplate.delete("RT:"+authentication.getName());
-        }
-
-        // 해당 Access Token 유효시간을 가지고 와서 BlackList에 저장하기
-        Long expiration = jwtProvider.getExpiration(token);
-        redisTemplate.opsForValue().set(token,"logout",expiration,TimeUnit.MILLISECONDS);
+        // Refresh Token 삭제
+        RedisCallEvent.run("delete-refresh-token", () -> tokenStore.deleteRefreshToken(account));
+        // 해당 Access Token 의 로그인을 남은 유효시간 동안 폐기
+        RedisCallEvent.run("revoke-access-token", () -> tokenStore.revoke(token, verified[0]));
+        authAuditService.publish(AuthAuditType.LOGOUT, account);
     }
 
+    // 중복 확인 SELECT 없이 바로 INSERT 하고, 유일 제약 위반을 MEMBER_EXISTS 로 바꾼다.
+    // member 의 유일 제약은 email 뿐이므로 제약 이름(email_unique, 예전 스키마의 UK_...)과 관계없이 중복 가입으로 본다.
+    // 인증번호는 일치할 때만 지우는 한 번의 Redis 호출로 소모되므로 같은 인증번호로 다시 가입할 수 없다.
+    // 중복이 아닌 이유(DB 장애 등)로 INSERT 가 실패하면 인증번호를 되돌려서 같은 번호로 다시 시도할 수 있게 한다.
     @Override
-    @Transactional
     public boolean register(SignUpRequestDto request) {
+        if (!authCodeService.consume(request.getEmail(), request.getCode())) {
+            throw new BusinessLogicException(ExceptionCode.AUTH_CODE_NOT_VALID);
+        }
         Member member = Member.builder()
                 .email(request.getEmail())
                 .password(passwordEncoder.encode(request.getPassword()))
                 .name(request.getName())
-                .phone(request.getPhone())
+                .phone(PhoneNumberUtils.normalize(request.getPhone()))
                 .build();
         member.setRoles(Collections.singletonList(Authority.builder().name("ROLE_USER").build()));
-        this.checkDuplicatedEmail(member.getEmail());
-        if(!verifiedCode(member.getEmail(), request.getCode())){
-            throw new BusinessLogicException(ExceptionCode.AUTH_CODE_NOT_VALID);
+        try {
+            memberRepository.saveAndFlush(member);
+        } catch (DataIntegrityViolationException e) {
+            if (!isUniqueViolation(e)) {
+                authCodeService.restore(request.getEmail(), request.getCode());
+                throw e;
+            }
+            log.debug("MemberServiceImpl.register duplicated email: {}", member.getEmail());
+            throw new BusinessLogicException(ExceptionCode.MEMBER_EXISTS);
+        } catch (RuntimeException e) {
+            authCodeService.restore(request.getEmail(), request.getCode());
+            throw e;
         }
-        memberRepository.save(member);
         return true;
     }
 
+    // 가입 직후에도 찾을 수 있도록 primary 에서 읽는다. (readOnly 트랜잭션으로 감싸면 replica 로 간다)
     @Override
     public String findRegisteredEmail(String phone, String code) throws Exception {
-        Member member = memberRepository.findByPhone(phone).orElseThrow(() ->
+        Member member = memberRepository.findCredentialsByPhone(PhoneNumberUtils.normalize(phone)).orElseThrow(() ->
                 new BadCredentialsException("Invalid user Information."));
 
         return member.getEmail();
     }
 
+    // 메일 발송(SMTP)과 bcrypt 동안에는 커넥션을 잡지 않고, 조회와 저장만 각각 짧은 트랜잭션으로 처리한다.
     @Override
-    @Transactional
     public String forwardTempPassword(String email, String phone, String code) throws Exception {
-        Member member = memberRepository.findByEmail(email).orElseThrow(() ->
+        Member member = memberRepository.findCredentialsByEmail(email).orElseThrow(() ->
                 new BadCredentialsException("Invalid E-mail Information."));
-        if(!member.getPhone().equals(phone)){
+        if(!member.getPhone().equals(PhoneNumberUtils.normalize(phone))){
             throw new BadCredentialsException("Phone is not matched.");
         }
 
@@ -165,10 +203,135 @@ public class MemberServiceImpl implements MemberService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public LoginResponseDto getMember(String account) throws Exception {
-        Member member = memberRepository.findByEmail(account)
+        return findProfile(account)
                 .orElseThrow(() -> new Exception("계정을 찾을 수 없습니다."));
-        return new LoginResponseDto(member);
+    }
+
+    // Member 엔티티(password, EAGER roles) 대신 projection 한 번으로 응답을 만든다.
+    // roles 의 Authority 는 직렬화/토큰 발급용 transient 객체이다.
+    private Optional<LoginResponseDto> findProfile(String email) {
+        List<MemberProfileDto> rows = memberRepository.findProfileByEmail(email);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Authority> roles = new ArrayList<>(rows.size());
+        for (MemberProfileDto row : rows) {
+            if (row.getRole() != null) {
+                roles.add(Authority.builder().name(row.getRole()).build());
+            }
+        }
+        MemberProfileDto member = rows.get(0);
+        return Optional.of(LoginResponseDto.builder()
+                .id(member.getId())
+                .email(member.getEmail())
+                .name(member.getName())
+                .phone(member.getPhone())
+                .roles(roles)
+                .version(member.getVersion())
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long getMemberVersion(String account) {
+        return memberRepository.findVersionByEmail(account).orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MemberSearchResponseDto searchMembers(String field, String prefix, String afterValue, Long afterId, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_SIZE));
+        String value = afterValue == null ? "" : afterValue;
+        long id = afterId == null ? 0L : afterId;
+
+        List<MemberSummaryDto> members;
+        switch (field) {
+            case "name":
+                members = memberRepository.searchByNamePrefix(toLikePrefix(prefix), value, id, PageRequest.of(0, limit));
+                break;
+            case "email":
+                members = memberRepository.searchByEmailPrefix(toLikePrefix(prefix), value, id, PageRequest.of(0, limit));
+                break;
+            case "phone":
+                members = memberRepository.searchByPhonePrefix(toLikePrefix(PhoneNumberUtils.normalize(prefix)), value, id, PageRequest.of(0, limit));
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported search field: " + field);
+        }
+
+        if (members.size() < limit) {
+            return new MemberSearchResponseDto(members, null, null);
+        }
+        MemberSummaryDto last = members.get(members.size() - 1);
+        String nextValue = field.equals("name") ? last.getName() : field.equals("email") ? last.getEmail() : last.getPhone();
+        return new MemberSearchResponseDto(members, nextValue, last.getId());
+    }
+
+    // email 또는 id 목록을 IN 절 청크(LOOKUP_CHUNK_SIZE)로 조회하고 권한도 청크마다 한 번에 가져온다.
+    // (Member.roles 는 EAGER 라 엔티티로 읽으면 회원마다 권한 SELECT 가 추가된다)
+    @Override
+    @Transactional(readOnly = true)
+    public MemberLookupResponseDto lookupMembers(List<String> emails, List<Long> ids) {
+        boolean byEmail = emails != null;
+        List<?> keys = byEmail ? emails : ids;
+        if (keys.size() > MAX_LOOKUP_SIZE) {
+            throw new IllegalArgumentException("Too many members: " + keys.size() + " (max " + MAX_LOOKUP_SIZE + ")");
+        }
+
+        // 요청 키 -> 회원. email 은 DB collation 처럼 대소문자를 구분하지 않는다.
+        Map<Object, MemberLookupDto> found = new HashMap<>();
+        if (byEmail) {
+            List<String> distinct = emails.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+            for (List<String> chunk : chunks(distinct)) {
+                for (MemberSummaryDto member : memberRepository.findSummariesByEmailIn(chunk)) {
+                    found.put(member.getEmail().toLowerCase(Locale.ROOT), new MemberLookupDto(member));
+                }
+            }
+        } else {
+            List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+            for (List<Long> chunk : chunks(distinct)) {
+                for (MemberSummaryDto member : memberRepository.findSummariesByIdIn(chunk)) {
+                    found.put(member.getId(), new MemberLookupDto(member));
+                }
+            }
+        }
+
+        Map<Long, MemberLookupDto> membersById = new HashMap<>();
+        found.values().forEach(member -> membersById.put(member.getId(), member));
+        for (List<Long> chunk : chunks(new ArrayList<>(membersById.keySet()))) {
+            for (MemberRoleDto role : memberRepository.findRolesByMemberIdIn(chunk)) {
+                membersById.get(role.getMemberId()).getRoles().add(role.getName());
+            }
+        }
+
+        List<MemberLookupDto> members = new ArrayList<>(keys.size());
+        List<String> missing = new ArrayList<>();
+        for (Object key : keys) {
+            MemberLookupDto member = key == null ? null
+                    : found.get(byEmail ? ((String) key).toLowerCase(Locale.ROOT) : key);
+            if (member != null) {
+                members.add(member);
+            } else {
+                missing.add(String.valueOf(key));
+            }
+        }
+        return new MemberLookupResponseDto(members, missing);
+    }
+
+    private static <T> List<List<T>> chunks(List<T> values) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += LOOKUP_CHUNK_SIZE) {
+            chunks.add(values.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, values.size())));
+        }
+        return chunks;
+    }
+
+    // LIKE 특수문자를 escape('!') 하고 prefix 검색용 '%' 를 붙인다.
+    private String toLikePrefix(String prefix) {
+        String value = prefix == null ? "" : prefix;
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
     }
 
     private void setHeader(HttpServletResponse response, TokenDto tokenDto) {
@@ -179,11 +342,21 @@ public class MemberServiceImpl implements MemberService{
     @Override
     public void sendCodeToEmail(String toEmail) throws Exception {
         String title = "모두의전세 이메일 인증 번호";
-        String authCode = this.createCode();
+        String authCode = authCodeService.issue(toEmail);
         mailService.sendEmail(toEmail, title, authCode);
-        // 이메일 인증 요청 시 인증 번호 Redis에 저장 ( key = "AuthCode " + Email / value = AuthCode )
-        redisTemplate.opsForValue().set(AUTH_CODE_PREFIX + toEmail,
-                authCode, Duration.ofMillis(this.authCodeExpirationMillis));
+    }
+
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null && cause.getCause() != cause; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                if (UNIQUE_VIOLATION_STATE.equals(sqlException.getSQLState())
+                        || sqlException.getErrorCode() == MYSQL_DUP_ENTRY) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     private void checkDuplicatedEmail(String email) {
@@ -194,22 +367,9 @@ public class MemberServiceImpl implements MemberService{
         }
     }
 
-    private String createCode() {
-        int code_length = 6;
-        char[] charSet = new char[] { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9'};
-        StringBuilder builder = new StringBuilder();
-        for (int i = 0; i < code_length; i++) {
-            int idx = (int) (charSet.length * Math.random());
-            builder.append(charSet[idx]);
-        }
-        return builder.toString();
-    }
-
     public boolean verifiedCode(String email, String authCode) {
         this.checkDuplicatedEmail(email);
-        String redisAuthCode = (String)redisTemplate.opsForValue().get(AUTH_CODE_PREFIX + email);
-
-        return redisAuthCode != null && redisAuthCode.equals(authCode);
+        return authCodeService.verify(email, authCode);
     }
 
     @Override
@@ -225,6 +385,7 @@ public class MemberServiceImpl implements MemberService{
                     if (passwordEncoder.matches(modifyUserInfoDto.getOldPassword(), member.getPassword())) {
                         member.setPassword(passwordEncoder.encode(modifyUserInfoDto.getNewPassword()));
                         memberRepository.save(member);
+                        authAuditService.publish(AuthAuditType.PASSWORD_CHANGE, member.getEmail());
                     } else {
                         throw new BadCredentialsException("Password not matched.");
                     }
@@ -244,7 +405,7 @@ public class MemberServiceImpl implements MemberService{
         Member member = memberRepository.findByEmail(authentication.getName()).orElseThrow(() ->
                 new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
         member.setName(modifyUserInfoDto.getName());
-        member.setPhone(modifyUserInfoDto.getPhone());
+        member.setPhone(PhoneNumberUtils.normalize(modifyUserInfoDto.getPhone()));
         memberRepository.save(member);
         return LoginResponseDto.builder()
                 .id(member.getId())
@@ -263,14 +424,15 @@ public class MemberServiceImpl implements MemberService{
 
         // Access Token에서 User email을 가져온다
         Authentication authentication = jwtProvider.getAuthentication(token);
-        memberRepository.findByEmail(authentication.getName())
-                .ifPresentOrElse(member -> {
-                    if (passwordEncoder.matches(password, member.getPassword())) {
-                        logOut(token);
-                        memberRepository.delete(member);
-                    } else {
-                        throw new BadCredentialsException("Password not matched.");
-                    }
-                }, () -> { throw new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND); });
+        Member member = memberRepository.findByEmail(authentication.getName()).orElseThrow(() ->
+                new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
+        if (!passwordEncoder.matches(password, member.getPassword())) {
+            throw new BadCredentialsException("Password not matched.");
+        }
+
+        // Redis 정리(logOut)는 트랜잭션 밖에서 하고, 삭제만 짧은 트랜잭션으로 처리한다.
+        logOut(token);
+        memberRepository.delete(member);
+        authAuditService.publish(AuthAuditType.WITHDRAW, member.getEmail());
     }
 }
@@ -0,0 +1,75 @@
+package com.example.springbootpractice.member.service;
+
+import com.example.springbootpractice.common.PhoneNumberUtils;
+import com.example.springbootpractice.member.dto.MemberSummaryDto;
+import com.example.springbootpractice.member.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// PhoneNumberUtils.normalize 도입 전에 자유 형식("010-1234-5678")으로 저장된 전화번호를 표준 형태로 바꾼다.
+// 조회(아이디 찾기, 임시 비밀번호, 관리자 검색)는 표준 형태로만 비교하므로 바꾸기 전까지 이 회원들은 찾을 수 없다.
+// 기동 후 별도 스레드에서 id 순 keyset 페이지로 읽고, 바뀌는 행만 조건부 UPDATE 한다.
+// 모두 바뀐 뒤에는 읽기만 하므로 여러 인스턴스가 동시에 실행해도 같은 결과가 된다.
+@Slf4j
+@Component
+public class PhoneNumberBackfill {
+    private final MemberRepository memberRepository;
+
+    @Value("${member.phone-backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${member.phone-backfill.page-size:500}")
+    private int pageSize;
+
+    public PhoneNumberBackfill(MemberRepository memberRepository) {
+        this.memberRepository = memberRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                // 다음 기동 때 다시 시도한다.
+                log.warn("Phone number backfill stopped: {}", e.getMessage());
+            }
+        }, "phone-number-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // 바꾼 회원 수
+    int run() {
+        long afterId = 0L;
+        int scanned = 0;
+        int updated = 0;
+        while (true) {
+            List<MemberSummaryDto> members = memberRepository.findPageAfter(afterId, PageRequest.of(0, pageSize));
+            for (MemberSummaryDto member : members) {
+                String normalized = PhoneNumberUtils.normalize(member.getPhone());
+                if (normalized != null && !normalized.equals(member.getPhone())) {
+                    updated += memberRepository.normalizePhone(member.getId(), member.getPhone(), normalized);
+                }
+            }
+            scanned += members.size();
+            if (members.size() < pageSize) {
+                break;
+            }
+            afterId = members.get(members.size() - 1).getId();
+        }
+        if (updated > 0) {
+            log.info("Phone number backfill normalized {} of {} members", updated, scanned);
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.springbootpractice.member.service;
+
+import com.example.springbootpractice.member.dto.TokenIntrospectionDto;
+import com.example.springbootpractice.member.security.JwtProvider;
+import com.example.springbootpractice.member.security.TokenStatus;
+import com.example.springbootpractice.member.security.TokenStore;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 다른 서비스(gateway 등)가 여러 토큰을 한 번에 검증하기 위한 introspection.
+// 서명 검증은 병렬로 하고 결과(subject, roles, 만료시각)는 토큰이 만료될 때까지 캐시한다.
+// 폐기 여부는 캐시하지 않고 요청마다 한 번의 Redis 조회(MGET)로 모든 토큰을 확인한다.
+@Slf4j
+@Service
+public class TokenIntrospectionService {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtProvider jwtProvider;
+    private final TokenStore tokenStore;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    // "Bearer <jws>" -> 검증된 토큰 정보
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    @Value("${introspection.max-batch-size:500}")
+    private int maxBatchSize;
+
+    // 서명 검증 스레드 수. 0 이면 CPU 코어 수
+    @Value("${introspection.parallelism:0}")
+    private int parallelism;
+
+    @Value("${introspection.cache.max-entries:100000}")
+    private int maxCacheEntries;
+
+    private ThreadPoolExecutor verifier;
+
+    public TokenIntrospectionService(JwtProvider jwtProvider, TokenStore tokenStore, MeterRegistry meterRegistry) {
+        this.jwtProvider = jwtProvider;
+        this.tokenStore = tokenStore;
+        this.cacheHits = meterRegistry.counter("token.introspection.cache", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("token.introspection.cache", "result", "miss");
+        meterRegistry.gauge("token.introspection.cache.size", verifiedTokens, Map::size);
+    }
+
+    @PostConstruct
+    protected void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        // 큐가 차면 호출 스레드에서 검증한다. (요청을 버리지 않고 속도만 늦춘다)
+        verifier = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxBatchSize * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "token-introspection-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    protected void close() {
+        verifier.shutdown();
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    // 결과는 입력 순서와 같다.
+    public List<TokenIntrospectionDto> introspect(List<String> tokens) {
+        if (tokens.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Too many tokens: " + tokens.size() + " (max " + maxBatchSize + ")");
+        }
+        long now = System.currentTimeMillis();
+        List<String> keys = new ArrayList<>(tokens.size());
+        VerifiedToken[] verified = new VerifiedToken[tokens.size()];
+        TokenStatus[] statuses = new TokenStatus[tokens.size()];
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+        for (int i = 0; i < tokens.size(); i++) {
+            String key = toBearer(tokens.get(i));
+            keys.add(key);
+            if (key == null) {
+                statuses[i] = TokenStatus.MALFORMED;
+                continue;
+            }
+            VerifiedToken cached = verifiedTokens.get(key);
+            if (cached != null) {
+                cacheHits.increment();
+                if (cached.expiresAt > now) {
+                    verified[i] = cached;
+                    statuses[i] = TokenStatus.VALID;
+                } else {
+                    verifiedTokens.remove(key, cached);
+                    statuses[i] = TokenStatus.EXPIRED;
+                }
+                continue;
+            }
+            cacheMisses.increment();
+            int index = i;
+            pending.add(CompletableFuture.runAsync(() -> {
+                statuses[index] = jwtProvider.checkToken(key, claims -> verified[index] = VerifiedToken.of(key, claims));
+            }, verifier));
+        }
+        // join 이 각 작업의 쓰기와 happens-before 관계를 만든다.
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+
+        List<String> validKeys = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (statuses[i] == TokenStatus.VALID) {
+                validKeys.add(verified[i].revocationKey);
+                cache(keys.get(i), verified[i]);
+            }
+        }
+        boolean[] revoked = validKeys.isEmpty() ? new boolean[0] : tokenStore.areBlacklisted(validKeys);
+
+        List<TokenIntrospectionDto> results = new ArrayList<>(tokens.size());
+        int validIndex = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            if (statuses[i] != TokenStatus.VALID) {
+                results.add(TokenIntrospectionDto.inactive(statuses[i]));
+                continue;
+            }
+            VerifiedToken token = verified[i];
+            boolean isRevoked = revoked[validIndex++] || tokenStore.isAccountRevoked(token.subject, token.issuedAt);
+            results.add(new TokenIntrospectionDto(!isRevoked, TokenStatus.VALID, isRevoked,
+                    token.subject, token.roles, token.expiresAt));
+        }
+        return results;
+    }
+
+    private void cache(String key, VerifiedToken token) {
+        if (verifiedTokens.size() >= maxCacheEntries) {
+            long now = System.currentTimeMillis();
+            verifiedTokens.values().removeIf(entry -> entry.expiresAt <= now);
+            if (verifiedTokens.size() >= maxCacheEntries) {
+                // 만료되지 않은 항목으로 가득 차면 비우고 다시 채운다.
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(key, token);
+    }
+
+    // 캐시 키는 Authorization 헤더 값("Bearer <jws>") 형태로 맞춘다.
+    private String toBearer(String token) {
+        if (token == null) {
+            return null;
+        }
+        String trimmed = token.trim();
+        if (trimmed.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            trimmed = trimmed.substring(BEARER_PREFIX.length()).trim();
+        }
+        return trimmed.isEmpty() ? null : BEARER_PREFIX + trimmed;
+    }
+
+    private static class VerifiedToken {
+        private final String subject;
+        private final List<String> roles;
+        private final long expiresAt;
+        private final Date issuedAt;
+        // TokenStore.revocationKey
+        private final String revocationKey;
+
+        private VerifiedToken(String subject, List<String> roles, long expiresAt, Date issuedAt, String revocationKey) {
+            this.subject = subject;
+            this.roles = roles;
+            this.expiresAt = expiresAt;
+            this.issuedAt = issuedAt;
+            this.revocationKey = revocationKey;
+        }
+
+        // roles claim 은 Authority 목록이 [{"name": "ROLE_USER"}, ...] 형태로 직렬화되어 있다.
+        static VerifiedToken of(String token, Claims claims) {
+            List<String> roles = new ArrayList<>();
+            Object claim = claims.get("roles");
+            if (claim instanceof List) {
+                for (Object role : (List<?>) claim) {
+                    Object name = role instanceof Map ? ((Map<?, ?>) role).get("name") : role;
+                    if (name != null) {
+                        roles.add(name.toString());
+                    }
+                }
+            }
+            return new VerifiedToken(claims.getSubject(), Collections.unmodifiableList(roles),
+                    claims.getExpiration().getTime(), claims.getIssuedAt(), TokenStore.revocationKey(token, claims));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.springbootpractice.member.service;
 
+import com.example.springbootpractice.common.jfr.UserLookupEvent;
 import com.example.springbootpractice.member.entity.Member;
 import com.example.springbootpractice.member.repository.MemberRepository;
 import com.example.springbootpractice.member.security.CustomUserDetails;
@@ -8,17 +9,29 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class UserDetailServiceImpl implements UserDetailsService {
     private final MemberRepository memberRepository;
+    // 요청마다 호출되는 인증 조회이므로 replica 로 보낸다.
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Member member = memberRepository.findByEmail(username).orElseThrow(
-                () -> new UsernameNotFoundException("Invalid authentication!")
-        );
+        UserLookupEvent event = new UserLookupEvent();
+        event.begin();
+        Optional<Member> member = memberRepository.findByEmail(username);
+        event.end();
+        if (event.shouldCommit()) {
+            event.outcome = member.isPresent() ? "found" : "not-found";
+            event.commit();
+        }
 
-        return new CustomUserDetails(member);
+        return new CustomUserDetails(member.orElseThrow(
+                () -> new UsernameNotFoundException("Invalid authentication!")
+        ));
     }
 }
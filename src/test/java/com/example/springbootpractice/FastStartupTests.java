@@ -0,0 +1,32 @@
+package com.example.springbootpractice;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FastStartupTests {
+
+	// 기동 시간 상한. build.gradle 의 test 태스크에서 -PstartupThresholdMillis 로 조정한다.
+	private static final long THRESHOLD_MILLIS = Long.getLong("startup.threshold-millis", 15000L);
+
+	@Test
+	void fastStartupProfileStartsWithinThreshold() {
+		SpringApplication application = new SpringApplication(SpringbootPracticeApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.setAdditionalProfiles("fast-startup");
+
+		long started = System.nanoTime();
+		try (ConfigurableApplicationContext context = application.run("--server.port=0", "--warmup.enabled=false")) {
+			long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+			assertThat(context.isActive()).isTrue();
+			assertThat(elapsedMillis)
+					.as("fast-startup context refresh took %d ms (threshold %d ms)", elapsedMillis, THRESHOLD_MILLIS)
+					.isLessThan(THRESHOLD_MILLIS);
+		}
+	}
+
+}
@@ -0,0 +1,142 @@
+package com.example.springbootpractice.admin.service;
+
+import com.example.springbootpractice.admin.dto.ForcedLogoutProgressDto;
+import com.example.springbootpractice.audit.service.AuthAuditService;
+import com.example.springbootpractice.common.LocalRedis;
+import com.example.springbootpractice.config.RedisReadCache;
+import com.example.springbootpractice.member.security.RedisDegradedMode;
+import com.example.springbootpractice.member.security.TokenStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+// localhost:6379 에 Redis 가 떠 있을 때만 실행된다.
+// 응답을 기다리는 Redis 호출(파이프라인은 한 번)을 세어서 계정당 왕복 수를 확인한다.
+class ForcedLogoutServiceTests {
+    private static final int ACCOUNTS = 100_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    private LettuceConnectionFactory connectionFactory;
+    private CountingRedisTemplate redisTemplate;
+    private TokenStore tokenStore;
+    private ForcedLogoutService service;
+    private final List<String> emails = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(LocalRedis.isRunning(), "local redis is not running");
+
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new CountingRedisTemplate();
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        tokenStore = new TokenStore(redisTemplate, redisTemplate,
+                new RedisReadCache(redisTemplate, new RedisProperties(), meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(tokenStore, "degradedMode", RedisDegradedMode.FAIL_OPEN);
+        ReflectionTestUtils.setField(tokenStore, "failureRateThreshold", 50f);
+        ReflectionTestUtils.setField(tokenStore, "slowCallDuration", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(tokenStore, "minimumNumberOfCalls", 20);
+        ReflectionTestUtils.setField(tokenStore, "waitDurationInOpenState", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(tokenStore, "accountSyncInterval", Duration.ZERO);
+        // 계정 폐기는 로컬 폐기 목록 상한보다 많아도 버리지 않는다.
+        ReflectionTestUtils.setField(tokenStore, "maxLocalRevocations", ACCOUNTS / 10);
+        tokenStore.init();
+
+        service = new ForcedLogoutService(tokenStore, null, mock(AuthAuditService.class));
+        ReflectionTestUtils.setField(service, "batchSize", BATCH_SIZE);
+
+        for (int i = 0; i < ACCOUNTS; i++) {
+            emails.add("forced-logout-test-" + i + "@example.com");
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] value = "refresh-token".getBytes(StandardCharsets.UTF_8);
+            for (String email : emails) {
+                connection.stringCommands().setEx(("RT:" + email).getBytes(StandardCharsets.UTF_8), 600, value);
+            }
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String email : emails) {
+                    connection.keyCommands().del(("RT:" + email).getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+            redisTemplate.opsForZSet().remove("Revoked accounts", emails.toArray());
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void revokesAccountsWithOnePipelinePerBatch() {
+        Date issuedBefore = new Date(System.currentTimeMillis() - 1000);
+        List<ForcedLogoutProgressDto> progress = new ArrayList<>();
+        redisTemplate.roundTrips.set(0);
+
+        ForcedLogoutProgressDto result = service.revokeEmails(emails, progress::add);
+        int roundTrips = redisTemplate.roundTrips.get();
+
+        assertThat(result.getProcessed()).isEqualTo(ACCOUNTS);
+        assertThat(result.getSessions()).isEqualTo(ACCOUNTS);
+        assertThat(result.getBatches()).isEqualTo(ACCOUNTS / BATCH_SIZE);
+        // 배치당 왕복 1회 (로그아웃 API 로 한 명씩 처리하면 계정당 3회)
+        assertThat(roundTrips).isEqualTo(ACCOUNTS / BATCH_SIZE);
+        assertThat((double) roundTrips / ACCOUNTS).isLessThanOrEqualTo(1.0 / BATCH_SIZE);
+        assertThat(result.getElapsedMillis()).isLessThan(10_000);
+
+        assertThat(progress).hasSize(ACCOUNTS / BATCH_SIZE + 1);
+        assertThat(progress.get(progress.size() - 1).isDone()).isTrue();
+        assertThat(redisTemplate.hasKey("RT:" + emails.get(0))).isFalse();
+        assertThat(redisTemplate.hasKey("RT:" + emails.get(ACCOUNTS - 1))).isFalse();
+        assertThat(redisTemplate.opsForZSet().score("Revoked accounts", emails.get(ACCOUNTS / 2))).isNotNull();
+        assertThat(tokenStore.isAccountRevoked(emails.get(0), issuedBefore)).isTrue();
+        assertThat(tokenStore.isAccountRevoked(emails.get(ACCOUNTS - 1), issuedBefore)).isTrue();
+        assertThat(tokenStore.isAccountRevoked(emails.get(0), new Date(System.currentTimeMillis() + 1000))).isFalse();
+    }
+
+    // 최상위 execute 만 센다. 파이프라인 안의 명령은 같은 execute 안에서 실행되므로 세지 않는다.
+    private static class CountingRedisTemplate extends RedisTemplate<String, Object> {
+        private final AtomicInteger roundTrips = new AtomicInteger();
+        private final ThreadLocal<Integer> depth = ThreadLocal.withInitial(() -> 0);
+
+        @Override
+        public <T> T execute(RedisCallback<T> action, boolean exposeConnection, boolean pipeline) {
+            if (depth.get() == 0) {
+                roundTrips.incrementAndGet();
+            }
+            depth.set(depth.get() + 1);
+            try {
+                return super.execute(action, exposeConnection, pipeline);
+            } finally {
+                depth.set(depth.get() - 1);
+            }
+        }
+    }
+}
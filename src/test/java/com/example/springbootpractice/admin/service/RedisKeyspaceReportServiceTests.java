@@ -0,0 +1,103 @@
+package com.example.springbootpractice.admin.service;
+
+import com.example.springbootpractice.admin.dto.RedisKeyFamilyDto;
+import com.example.springbootpractice.admin.dto.RedisKeyspaceReportDto;
+import com.example.springbootpractice.common.LocalRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// localhost:6379 에 Redis 4 이상이 떠 있을 때만 실행된다.
+// 다른 키가 있어도 되도록 family 별 개수는 넣은 수 이상인지만 확인한다.
+class RedisKeyspaceReportServiceTests {
+    private static final double RATE = 200;
+    private static final int SCAN_COUNT = 10;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private RedisKeyspaceReportService service;
+    private final List<String> keys = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(LocalRedis.isRunning(), "local redis is not running");
+
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        service = new RedisKeyspaceReportService(redisTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "enabled", false);
+        ReflectionTestUtils.setField(service, "interval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(service, "scanCount", SCAN_COUNT);
+        ReflectionTestUtils.setField(service, "rate", RATE);
+        ReflectionTestUtils.setField(service, "commandTimeout", Duration.ofSeconds(2));
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            redisTemplate.delete(keys);
+            service.close();
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void reportsCountsBytesAndTtlPerFamilyAtConfiguredRate() {
+        for (int i = 0; i < 30; i++) {
+            put("RT:keyspace-test-" + i + "@example.com", "refresh-token-value-" + i, Duration.ofDays(14));
+        }
+        for (int i = 0; i < 20; i++) {
+            put("Bearer keyspace-test-" + i, "logout", Duration.ofMinutes(30));
+        }
+        for (int i = 0; i < 10; i++) {
+            put("AuthCode keyspace-test-" + i + "@example.com", "123456", Duration.ofMinutes(5));
+        }
+
+        long started = System.nanoTime();
+        RedisKeyspaceReportDto report = service.report();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(report.isPartial()).isFalse();
+        RedisKeyFamilyDto refreshTokens = family(report, "refresh-token");
+        assertThat(refreshTokens.getKeys()).isGreaterThanOrEqualTo(30);
+        assertThat(refreshTokens.getBytes()).isGreaterThan(0);
+        assertThat(refreshTokens.getTtlHistogram().get("30d")).isGreaterThanOrEqualTo(30);
+        assertThat(family(report, "blacklist").getTtlHistogram().get("1h")).isGreaterThanOrEqualTo(20);
+        assertThat(family(report, "auth-code").getTtlHistogram().get("10m")).isGreaterThanOrEqualTo(10);
+
+        // 마지막 페이지 외에는 rate 를 넘지 않는다.
+        long minimumMillis = (long) ((report.getScannedKeys() - SCAN_COUNT) * 1000 / RATE);
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(minimumMillis);
+    }
+
+    private void put(String key, String value, Duration ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl);
+        keys.add(key);
+    }
+
+    private RedisKeyFamilyDto family(RedisKeyspaceReportDto report, String family) {
+        return report.getFamilies().stream()
+                .filter(dto -> dto.getFamily().equals(family))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.springbootpractice.audit.service;
+
+import com.example.springbootpractice.audit.dto.AuthAuditEvent;
+import com.example.springbootpractice.audit.entity.AuthAuditType;
+import com.example.springbootpractice.member.dto.LoginRequestDto;
+import com.example.springbootpractice.member.dto.TokenDto;
+import com.example.springbootpractice.member.entity.Authority;
+import com.example.springbootpractice.member.entity.Member;
+import com.example.springbootpractice.member.repository.MemberRepository;
+import com.example.springbootpractice.member.security.JwtProvider;
+import com.example.springbootpractice.member.service.MemberServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuthAuditServiceTests {
+    private static final int LOGINS = 2000;
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private AuthAuditService authAuditService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        authAuditService = new AuthAuditService(jdbcTemplate, meterRegistry);
+        ReflectionTestUtils.setField(authAuditService, "enabled", true);
+        ReflectionTestUtils.setField(authAuditService, "bufferCapacity", 16);
+        ReflectionTestUtils.setField(authAuditService, "batchSize", 3);
+        ReflectionTestUtils.setField(authAuditService, "flushIntervalMillis", 50L);
+        authAuditService.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        authAuditService.stop();
+    }
+
+    @Test
+    void publishedEventsAreWrittenInBatches() {
+        authAuditService.publish(AuthAuditType.LOGIN_SUCCESS, "a@example.com");
+        authAuditService.publish(AuthAuditType.LOGIN_FAILURE, "b@example.com");
+        authAuditService.publish(AuthAuditType.LOGOUT, "a@example.com");
+
+        verify(jdbcTemplate, timeout(2000).atLeastOnce())
+                .batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        await(() -> meterRegistry.counter("auth.audit.events", "result", "written").count() == 3);
+    }
+
+    @Test
+    void publishDoesNotBlockWhenBufferIsFull() {
+        // writer 가 DB 에서 멈춰 있어도 요청 스레드는 기다리지 않고 이벤트를 버린다.
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(1000);
+                    return new int[0][];
+                });
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            authAuditService.publish(AuthAuditType.LOGIN_SUCCESS, "user" + i + "@example.com");
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(elapsedMillis).isLessThan(500);
+        assertThat(meterRegistry.counter("auth.audit.events", "result", "dropped").count()).isGreaterThan(0);
+    }
+
+    @Test
+    void oversizedEmailIsTruncatedAndWriterSurvivesUnexpectedErrors() {
+        // flush 후 batch 리스트를 재사용하므로 기록된 이메일을 복사해 둔다.
+        List<String> writtenEmails = new CopyOnWriteArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new IllegalStateException("unexpected"))
+                .thenAnswer(invocation -> {
+                    Collection<AuthAuditEvent> batch = invocation.getArgument(1);
+                    batch.forEach(event -> writtenEmails.add(event.getEmail()));
+                    return new int[0][];
+                });
+
+        authAuditService.publish(AuthAuditType.LOGIN_FAILURE, "first@example.com");
+        await(() -> meterRegistry.counter("auth.audit.events", "result", "failed").count() == 1);
+        authAuditService.publish(AuthAuditType.LOGIN_FAILURE, "x".repeat(300) + "@example.com");
+        await(() -> meterRegistry.counter("auth.audit.events", "result", "written").count() == 1);
+
+        assertThat(writtenEmails).hasSize(1);
+        assertThat(writtenEmails.get(0)).hasSize(50);
+    }
+
+    @Test
+    void publishAllWritesEveryEventEvenBeyondBufferCapacity() {
+        List<String> writtenEmails = new CopyOnWriteArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    Collection<AuthAuditEvent> batch = invocation.getArgument(1);
+                    batch.forEach(event -> writtenEmails.add(event.getEmail()));
+                    return new int[0][];
+                });
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            emails.add("forced" + i + "@example.com");
+        }
+
+        authAuditService.publishAll(AuthAuditType.FORCED_LOGOUT, emails);
+
+        // 큐(16)를 거치지 않으므로 100건 모두 호출이 끝나기 전에 batch-size(3) 단위로 기록된다.
+        assertThat(writtenEmails).containsExactlyElementsOf(emails);
+        assertThat(meterRegistry.counter("auth.audit.events", "result", "written").count()).isEqualTo(100);
+        assertThat(meterRegistry.counter("auth.audit.events", "result", "dropped").count()).isZero();
+        verify(jdbcTemplate, times(34))
+                .batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    // 로그인 스레드는 감사 로그 DB 쓰기를 기다리지 않는다.
+    // writer 가 느린 DB 에서 멈춰 있어도 감사 로그를 끈 경우와 로그인 시간이 같은 수준이다.
+    @Test
+    void loginLatencyIsUnaffectedBySlowAuditWriter() throws InterruptedException {
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(500);
+                    return new int[0][];
+                });
+        AuthAuditService disabled = new AuthAuditService(mock(JdbcTemplate.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(disabled, "enabled", false);
+        ReflectionTestUtils.setField(disabled, "bufferCapacity", 16);
+        disabled.start();
+
+        long withoutAudit = loginNanos(disabled);
+        long withAudit = loginNanos(authAuditService);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(withAudit))
+                .as("%d logins took %d ms with audit, %d ms without", LOGINS,
+                        TimeUnit.NANOSECONDS.toMillis(withAudit), TimeUnit.NANOSECONDS.toMillis(withoutAudit))
+                // 동기로 썼다면 한 건만으로도 500ms 가 걸린다.
+                .isLessThan(TimeUnit.NANOSECONDS.toMillis(withoutAudit) + 100);
+        assertThat(meterRegistry.counter("auth.audit.events", "result", "dropped").count()).isGreaterThan(0);
+        disabled.stop();
+    }
+
+    private static long loginNanos(AuthAuditService auditService) {
+        Member member = Member.builder()
+                .email("login@example.com")
+                .password("encoded")
+                .name("login")
+                .phone("01012345678")
+                .build();
+        member.setRoles(List.of(Authority.builder().name("ROLE_USER").build()));
+        MemberRepository memberRepository = mock(MemberRepository.class, withSettings().stubOnly());
+        when(memberRepository.findCredentialsByEmail("login@example.com")).thenReturn(Optional.of(member));
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class, withSettings().stubOnly());
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        JwtProvider jwtProvider = mock(JwtProvider.class, withSettings().stubOnly());
+        when(jwtProvider.createAllToken(anyString(), anyList())).thenReturn(new TokenDto("access", "refresh"));
+        MemberServiceImpl memberService = new MemberServiceImpl(memberRepository, passwordEncoder, jwtProvider, null, null, auditService, null);
+
+        LoginRequestDto request = new LoginRequestDto();
+        request.setEmail("login@example.com");
+        request.setPassword("password");
+        for (int i = 0; i < LOGINS; i++) {
+            memberService.logIn(request, new MockHttpServletResponse());
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < LOGINS; i++) {
+            memberService.logIn(request, new MockHttpServletResponse());
+        }
+        return System.nanoTime() - started;
+    }
+
+    private static void await(java.util.function.BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
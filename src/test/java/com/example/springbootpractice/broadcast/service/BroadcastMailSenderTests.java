@@ -0,0 +1,87 @@
+package com.example.springbootpractice.broadcast.service;
+
+import com.example.springbootpractice.broadcast.dto.BroadcastMail;
+import com.example.springbootpractice.member.dto.MemberSummaryDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 로컬 SMTP stub 서버로 발송 경로 전체를 확인한다.
+class BroadcastMailSenderTests {
+    private SmtpStub smtpStub;
+    private BroadcastMailSender sender;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtpStub = new SmtpStub();
+        sender = new BroadcastMailSender(smtpStub.javaMailSender());
+        ReflectionTestUtils.setField(sender, "connections", 2);
+        ReflectionTestUtils.setField(sender, "ratePerSecond", 50.0);
+        ReflectionTestUtils.setField(sender, "from", "noreply@example.com");
+        sender.init();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sender.close();
+        smtpStub.close();
+    }
+
+    @Test
+    void sendsRenderedMailsOverReusedConnectionsAtConfiguredRate() throws Exception {
+        MailTemplate template = MailTemplate.compile("Hello {{name}} ({{email}}), {{unknown}}");
+        List<BroadcastMail> mails = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            MemberSummaryDto member = new MemberSummaryDto((long) i, "user" + i + "@example.com", "user" + i, "010");
+            mails.add(new BroadcastMail(member.getEmail(), "Notice", template.render(member)));
+        }
+
+        long started = System.nanoTime();
+        assertThat(sender.send(mails)).isEqualTo(20);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(smtpStub.recipients).hasSize(20).contains("user1@example.com", "user20@example.com");
+        assertThat(smtpStub.bodies).anyMatch(body -> body.contains("Hello user7 (user7@example.com), {{unknown}}"));
+        // 메시지마다 연결하지 않고 발송 스레드 수만큼만 연결한다.
+        assertThat(smtpStub.connections.get()).isLessThanOrEqualTo(2);
+        // 50건/초로 제한했으므로 20건은 최소 약 380ms 걸린다.
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(350);
+    }
+
+    @Test
+    void interruptStopsWaitingAndSkipsUnsentMails() throws Exception {
+        List<BroadcastMail> mails = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            mails.add(new BroadcastMail("user" + i + "@example.com", "Notice", "Hello"));
+        }
+        Throwable[] thrown = new Throwable[1];
+        Thread caller = new Thread(() -> {
+            try {
+                sender.send(mails);
+            } catch (Throwable e) {
+                thrown[0] = e;
+            }
+        });
+        caller.start();
+        Thread.sleep(100);
+
+        long started = System.nanoTime();
+        caller.interrupt();
+        caller.join(5_000);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        sender.close();
+
+        assertThat(caller.isAlive()).isFalse();
+        assertThat(thrown[0]).isInstanceOf(InterruptedException.class);
+        // 50건/초로 남은 메일을 모두 보내려면 약 1초가 걸린다.
+        assertThat(elapsedMillis).isLessThan(500);
+        assertThat(smtpStub.recipients.size()).isLessThan(mails.size());
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.springbootpractice.broadcast.service;
+
+import com.example.springbootpractice.broadcast.dto.BroadcastJobDto;
+import com.example.springbootpractice.broadcast.dto.BroadcastRequestDto;
+import com.example.springbootpractice.broadcast.entity.BroadcastJob;
+import com.example.springbootpractice.broadcast.entity.BroadcastStatus;
+import com.example.springbootpractice.broadcast.repository.BroadcastJobRepository;
+import com.example.springbootpractice.member.entity.Member;
+import com.example.springbootpractice.member.repository.MemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// H2 와 로컬 SMTP stub 으로 발송 작업의 실행/중단 후 재개/취소를 확인한다.
+// 발송은 별도 스레드에서 커밋하므로 테스트 트랜잭션은 사용하지 않는다.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BroadcastServiceTests {
+    private static final int MEMBERS = 40;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private BroadcastJobRepository broadcastJobRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private SmtpStub smtpStub;
+    private final List<String> emails = new ArrayList<>();
+    private final List<Long> memberIds = new ArrayList<>();
+    private final List<BroadcastMailSender> senders = new ArrayList<>();
+    private final List<BroadcastService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtpStub = new SmtpStub();
+        for (int i = 0; i < MEMBERS; i++) {
+            Member member = memberRepository.save(Member.builder()
+                    .email("broadcast-" + i + "@example.com")
+                    .password("password")
+                    .name("member" + i)
+                    .phone("010" + i)
+                    .build());
+            emails.add(member.getEmail());
+            memberIds.add(member.getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        // 서비스를 먼저, 발송기를 나중에 종료한다. (Spring destroy 순서)
+        for (BroadcastService service : services) {
+            service.stop();
+        }
+        for (BroadcastMailSender sender : senders) {
+            sender.close();
+        }
+        smtpStub.close();
+        broadcastJobRepository.deleteAll();
+        memberRepository.deleteAllById(memberIds);
+    }
+
+    @Test
+    void runSendsToEveryMemberAndCompletes() {
+        BroadcastService service = newService(newSender());
+
+        Long id = service.start(request()).getId();
+        BroadcastJobDto job = awaitStatus(service, id, BroadcastStatus.COMPLETED);
+
+        assertThat(job.getSentCount()).isEqualTo(MEMBERS);
+        assertThat(job.getFailedCount()).isZero();
+        assertThat(job.getLastMemberId()).isEqualTo(memberIds.get(MEMBERS - 1));
+        assertThat(smtpStub.recipients).containsExactlyInAnyOrderElementsOf(emails);
+        assertThat(smtpStub.bodies).anyMatch(body -> body.contains("Hello member7"));
+    }
+
+    @Test
+    void interruptedRunResumesAfterLastCheckpoint() throws Exception {
+        BroadcastMailSender sender = newSender();
+        BroadcastService first = newService(sender);
+        Long id = first.start(request()).getId();
+        await(() -> smtpStub.recipients.size() >= PAGE_SIZE + PAGE_SIZE / 2);
+
+        // Spring 의 destroy 순서와 같게 서비스를 먼저 멈춘다. 발송 대기 중인 send 가 interrupt 되어 페이지 중간에 멈춘다.
+        first.stop();
+        sender.close();
+
+        BroadcastJob interrupted = broadcastJobRepository.findById(id).orElseThrow();
+        int checkpointed = memberIds.indexOf(interrupted.getLastMemberId()) + 1;
+        assertThat(interrupted.getStatus()).isEqualTo(BroadcastStatus.RUNNING);
+        assertThat(interrupted.getOwner()).isNull();
+        assertThat(checkpointed).isPositive().isLessThan(MEMBERS);
+        assertThat(checkpointed % PAGE_SIZE).isZero();
+        assertThat(interrupted.getSentCount()).isEqualTo(checkpointed);
+        assertThat(smtpStub.recipients).containsAll(emails.subList(0, checkpointed));
+        smtpStub.recipients.clear();
+
+        BroadcastService second = newService(newSender());
+        second.resume();
+        BroadcastJobDto job = awaitStatus(second, id, BroadcastStatus.COMPLETED);
+
+        // checkpoint 다음 회원부터 한 번씩만 보낸다.
+        assertThat(smtpStub.recipients).containsExactlyInAnyOrderElementsOf(emails.subList(checkpointed, MEMBERS));
+        assertThat(job.getSentCount()).isEqualTo(MEMBERS);
+        assertThat(job.getFailedCount()).isZero();
+        assertThat(job.getLastMemberId()).isEqualTo(memberIds.get(MEMBERS - 1));
+    }
+
+    @Test
+    void onlyOneInstanceResumesARunningJob() {
+        Long id = broadcastJobRepository.save(new BroadcastJob("Notice", "Hello {{name}}", null, null)).getId();
+        BroadcastService first = newService(newSender());
+        BroadcastService second = newService(newSender());
+
+        first.resume();
+        second.resume();
+        assertThat(runs(second)).isEmpty();
+        BroadcastJobDto job = awaitStatus(first, id, BroadcastStatus.COMPLETED);
+
+        assertThat(smtpStub.recipients).containsExactlyInAnyOrderElementsOf(emails);
+        assertThat(job.getSentCount()).isEqualTo(MEMBERS);
+    }
+
+    @Test
+    void cancelStopsAfterCurrentPage() {
+        BroadcastService service = newService(newSender());
+        Long id = service.start(request()).getId();
+        await(() -> !smtpStub.recipients.isEmpty());
+
+        service.cancel(id);
+        BroadcastJobDto job = awaitStatus(service, id, BroadcastStatus.CANCELLED);
+
+        assertThat(job.getSentCount()).isLessThan(MEMBERS);
+        assertThat(job.getSentCount() % PAGE_SIZE).isZero();
+        assertThat(smtpStub.recipients).hasSize((int) job.getSentCount());
+    }
+
+    @Test
+    void cancelFromAnotherInstanceStopsTheOwner() {
+        BroadcastService owner = newService(newSender());
+        BroadcastService other = newService(newSender());
+        Long id = owner.start(request()).getId();
+        await(() -> !smtpStub.recipients.isEmpty());
+
+        assertThat(other.cancel(id).orElseThrow().getStatus()).isEqualTo(BroadcastStatus.CANCELLED);
+        await(() -> runs(owner).isEmpty());
+
+        BroadcastJob job = broadcastJobRepository.findById(id).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(BroadcastStatus.CANCELLED);
+        assertThat(smtpStub.recipients.size()).isLessThan(MEMBERS);
+    }
+
+    private BroadcastMailSender newSender() {
+        BroadcastMailSender sender = new BroadcastMailSender(smtpStub.javaMailSender());
+        ReflectionTestUtils.setField(sender, "connections", 2);
+        ReflectionTestUtils.setField(sender, "ratePerSecond", 50.0);
+        ReflectionTestUtils.setField(sender, "from", "noreply@example.com");
+        sender.init();
+        senders.add(sender);
+        return sender;
+    }
+
+    private BroadcastService newService(BroadcastMailSender sender) {
+        BroadcastService service = new BroadcastService(broadcastJobRepository, memberRepository, sender, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "pageSize", PAGE_SIZE);
+        ReflectionTestUtils.setField(service, "lease", Duration.ofMinutes(5));
+        service.init();
+        services.add(service);
+        return service;
+    }
+
+    private static BroadcastRequestDto request() {
+        BroadcastRequestDto request = new BroadcastRequestDto();
+        request.setTitle("Notice");
+        request.setBody("Hello {{name}}");
+        return request;
+    }
+
+    private static Map<?, ?> runs(BroadcastService service) {
+        return (Map<?, ?>) ReflectionTestUtils.getField(service, "runs");
+    }
+
+    private BroadcastJobDto awaitStatus(BroadcastService service, Long id, BroadcastStatus status) {
+        await(() -> runs(service).isEmpty() && service.getJob(id).orElseThrow().getStatus() == status);
+        return service.getJob(id).orElseThrow();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("timed out").isLessThan(deadline);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.springbootpractice.common;
+
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+// JMH 대신 스레드 할당량(ThreadMXBean)으로 연산 한 번의 평균 할당 바이트를 잰다.
+// warm-up 동안 JIT 가 컴파일(escape analysis 포함)하도록 먼저 반복한 뒤 측정한다.
+// 결과를 volatile 필드에 넘겨서 사용하지 않는 결과의 할당이 제거되지 않게 한다.
+public final class Allocations {
+    private static volatile Object sink;
+
+    private Allocations() {
+    }
+
+    public static long bytesPerOperation(Supplier<?> operation, int warmUpIterations, int iterations) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < warmUpIterations; i++) {
+            sink = operation.get();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            sink = operation.get();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / iterations;
+    }
+}
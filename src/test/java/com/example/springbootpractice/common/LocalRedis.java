@@ -0,0 +1,29 @@
+package com.example.springbootpractice.common;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+// 로컬에서 띄운 Redis 가 있을 때만 실행하는 테스트용. 포트에 연결되는지만 확인한다.
+// primary 는 6379, replica(replicaof localhost 6379)는 6380, Sentinel 은 26379 로 띄운다.
+public final class LocalRedis {
+    public static final int PORT = 6379;
+    public static final int REPLICA_PORT = 6380;
+    public static final int SENTINEL_PORT = 26379;
+
+    private LocalRedis() {
+    }
+
+    public static boolean isRunning() {
+        return isRunning(PORT);
+    }
+
+    public static boolean isRunning(int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", port), 200);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
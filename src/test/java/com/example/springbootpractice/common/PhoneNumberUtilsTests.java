@@ -0,0 +1,18 @@
+package com.example.springbootpractice.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhoneNumberUtilsTests {
+
+    @Test
+    void normalizeKeepsDigitsAndLeadingPlus() {
+        assertThat(PhoneNumberUtils.normalize("010-1234-5678")).isEqualTo("01012345678");
+        assertThat(PhoneNumberUtils.normalize(" 010 1234 5678 ")).isEqualTo("01012345678");
+        assertThat(PhoneNumberUtils.normalize("(010) 1234.5678")).isEqualTo("01012345678");
+        assertThat(PhoneNumberUtils.normalize("+82 10-1234-5678")).isEqualTo("+821012345678");
+        assertThat(PhoneNumberUtils.normalize("010+1234")).isEqualTo("0101234");
+        assertThat(PhoneNumberUtils.normalize(null)).isNull();
+    }
+}
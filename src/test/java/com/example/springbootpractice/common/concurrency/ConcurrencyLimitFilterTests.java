@@ -0,0 +1,132 @@
+package com.example.springbootpractice.common.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 고정 크기 스레드 풀을 Tomcat 워커 풀로 보고 로그인 폭주 중 조회 요청의 대기 시간을 비교한다.
+class ConcurrencyLimitFilterTests {
+    private static final int WORKERS = 8;
+    private static final int LOGINS = 160;
+    // bcrypt 한 번 정도의 처리 시간
+    private static final long LOGIN_MILLIS = 100;
+
+    @Test
+    void readLatencyStaysFlatDuringLoginFlood() throws Exception {
+        FloodResult unlimited = flood(false);
+        FloodResult limited = flood(true);
+
+        // 제한이 없으면 조회가 로그인 뒤에 줄을 서서 초 단위로 기다린다.
+        assertThat(unlimited.maxReadMillis).isGreaterThan(1000);
+        // 제한이 있으면 한도를 넘는 로그인은 바로 거절되고 조회는 로그인 한 번 정도만 기다린다.
+        assertThat(limited.maxReadMillis).isLessThan(unlimited.maxReadMillis / 3);
+        assertThat(limited.rejected).isGreaterThan(0);
+        assertThat(limited.maxConcurrentLogins).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void limitBacksOffWhenLatencyExceedsThreshold() {
+        AimdLimit limit = new AimdLimit(properties(true));
+        assertThat(limit.getLimit()).isEqualTo(4);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        limit.release(Duration.ofSeconds(2).toNanos(), false);
+        assertThat(limit.getLimit()).isEqualTo(3);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+            limit.release(Duration.ofMillis(5).toNanos(), true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(1);
+    }
+
+    private FloodResult flood(boolean enabled) throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties(enabled), Map.of("/login", "login"), meterRegistry);
+        AtomicInteger concurrentLogins = new AtomicInteger();
+        AtomicInteger maxConcurrentLogins = new AtomicInteger();
+        FilterChain loginChain = (request, response) -> {
+            maxConcurrentLogins.accumulateAndGet(concurrentLogins.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(LOGIN_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrentLogins.decrementAndGet();
+            }
+        };
+        FilterChain readChain = (request, response) -> { };
+
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+        List<Future<Long>> reads = new ArrayList<>();
+        try {
+            for (int i = 0; i < LOGINS; i++) {
+                workers.submit(() -> send(filter, "/login", loginChain));
+                if (i % 10 == 0) {
+                    long submitted = System.nanoTime();
+                    reads.add(workers.submit(() -> {
+                        send(filter, "/user/get", readChain);
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted);
+                    }));
+                }
+            }
+            long maxReadMillis = 0;
+            for (Future<Long> read : reads) {
+                maxReadMillis = Math.max(maxReadMillis, read.get(30, TimeUnit.SECONDS));
+            }
+            double rejected = meterRegistry.counter("http.server.concurrency.rejected", "endpoint", "login").count();
+            return new FloodResult(maxReadMillis, rejected, maxConcurrentLogins.get());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static MockHttpServletResponse send(ConcurrencyLimitFilter filter, String path, FilterChain chain) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private static ConcurrencyLimitProperties properties(boolean enabled) {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setEnabled(enabled);
+        properties.setInitialLimit(4);
+        properties.setMinLimit(1);
+        properties.setMaxLimit(4);
+        properties.setLatencyThreshold(Duration.ofSeconds(1));
+        properties.setBackoffRatio(0.75);
+        return properties;
+    }
+
+    private static class FloodResult {
+        private final long maxReadMillis;
+        private final double rejected;
+        private final int maxConcurrentLogins;
+
+        FloodResult(long maxReadMillis, double rejected, int maxConcurrentLogins) {
+            this.maxReadMillis = maxReadMillis;
+            this.rejected = rejected;
+            this.maxConcurrentLogins = maxConcurrentLogins;
+        }
+    }
+}
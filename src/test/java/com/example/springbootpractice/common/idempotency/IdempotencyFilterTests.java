@@ -0,0 +1,169 @@
+package com.example.springbootpractice.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTests {
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyStore store;
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), any(), any(Duration.class))).thenReturn(true);
+
+        store = new IdempotencyStore(redisTemplate, new ObjectMapper());
+        ReflectionTestUtils.setField(store, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(store, "lockTtl", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(store, "waitTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(store, "pollInterval", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(store, "maxBodySize", DataSize.ofKilobytes(64));
+        filter = new IdempotencyFilter(store, Set.of("/find-pwd"));
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForInFlightRequestAndGetsItsResponse() throws Exception {
+        FilterChain slowChain = (request, response) -> {
+            executions.incrementAndGet();
+            request.getInputStream().readAllBytes();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getOutputStream().write("temp-password-sent".getBytes(StandardCharsets.UTF_8));
+        };
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> send("key-1", "{\"email\":\"a\"}", slowChain));
+        Thread.sleep(50);
+        CompletableFuture<MockHttpServletResponse> second = CompletableFuture.supplyAsync(() -> send("key-1", "{\"email\":\"a\"}", slowChain));
+
+        assertThat(first.get().getContentAsString()).isEqualTo("temp-password-sent");
+        assertThat(second.get().getContentAsString()).isEqualTo("temp-password-sent");
+        assertThat(second.get().getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void serverErrorsAreNotStored() {
+        FilterChain failingChain = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+
+        send("key-2", "{}", failingChain);
+        send("key-2", "{}", failingChain);
+
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    // 컨트롤러가 비동기(ReadListener)로 본문을 읽어도 캐시한 본문을 그대로 받는다.
+    @Test
+    void cachedBodyCanBeReadWithReadListener() {
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicInteger allDataAvailable = new AtomicInteger();
+        FilterChain asyncChain = (request, response) -> {
+            executions.incrementAndGet();
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[4];
+                    while (in.isReady() && !in.isFinished()) {
+                        int n = in.read(buffer);
+                        if (n > 0) {
+                            read.write(buffer, 0, n);
+                        }
+                    }
+                }
+
+                @Override
+                public void onAllDataAvailable() {
+                    allDataAvailable.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            });
+        };
+
+        send("key-3", "{\"email\":\"async@example.com\"}", asyncChain);
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo("{\"email\":\"async@example.com\"}");
+        assertThat(allDataAvailable.get()).isEqualTo(1);
+    }
+
+    // 한도를 넘는 본문은 메모리에 모두 읽지 않고 413 으로 거절한다. Content-Length 가 없는 본문도 한도까지만 읽는다.
+    @Test
+    void oversizedBodyIsRejected() {
+        ReflectionTestUtils.setField(store, "maxBodySize", DataSize.ofBytes(16));
+        FilterChain chain = (request, response) -> executions.incrementAndGet();
+
+        MockHttpServletResponse declared = send("key-4", "{\"email\":\"oversized@example.com\"}", chain);
+        MockHttpServletRequest chunkedRequest = new MockHttpServletRequest("POST", "/find-pwd") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        chunkedRequest.setContent("{\"email\":\"oversized@example.com\"}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse chunked = send("key-5", chunkedRequest, chain);
+        MockHttpServletResponse small = send("key-6", "{\"email\":\"a\"}", chain);
+
+        assertThat(declared.getStatus()).isEqualTo(413);
+        assertThat(chunked.getStatus()).isEqualTo(413);
+        assertThat(small.getStatus()).isEqualTo(200);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/find-pwd");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return send(key, request, chain);
+    }
+
+    private MockHttpServletResponse send(String key, MockHttpServletRequest request, FilterChain chain) {
+        request.setServletPath("/find-pwd");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+}
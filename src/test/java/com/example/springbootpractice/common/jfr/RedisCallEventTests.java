@@ -0,0 +1,47 @@
+package com.example.springbootpractice.common.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RedisCallEventTests {
+
+    @Test
+    void callsRunWithoutRecording() {
+        assertThat(RedisCallEvent.record("get", () -> "value")).isEqualTo("value");
+    }
+
+    @Test
+    void outcomesAreRecorded(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("redis.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(RedisCallEvent.class);
+            recording.start();
+
+            RedisCallEvent.record("get-hit", () -> "value");
+            RedisCallEvent.record("get-miss", () -> null);
+            assertThatThrownBy(() -> RedisCallEvent.run("set", () -> {
+                throw new IllegalStateException("connection refused");
+            })).isInstanceOf(IllegalStateException.class);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("springbootpractice.RedisCall"))
+                .collect(Collectors.toList());
+        assertThat(events)
+                .extracting(event -> event.getString("operation") + "=" + event.getString("outcome"))
+                .containsExactly("get-hit=ok", "get-miss=miss", "set=error");
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.springbootpractice.config;
+
+import com.example.springbootpractice.common.LocalRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// localhost:6379 에 Redis 6 이상이 떠 있을 때만 실행된다.
+class RedisReadCacheTests {
+    private static final String KEY = "RT:client-cache-test@example.com";
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private RedisReadCache redisReadCache;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(LocalRedis.isRunning(), "local redis is not running");
+
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setHost("localhost");
+        redisProperties.setPort(6379);
+        meterRegistry = new SimpleMeterRegistry();
+        redisReadCache = new RedisReadCache(redisTemplate, redisProperties, meterRegistry);
+        ReflectionTestUtils.setField(redisReadCache, "enabled", true);
+        ReflectionTestUtils.setField(redisReadCache, "maxEntries", 100);
+        redisReadCache.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (redisReadCache != null) {
+            redisTemplate.delete(KEY);
+            redisReadCache.close();
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void repeatedReadsAreServedLocally() {
+        redisTemplate.opsForValue().set(KEY, "token-1");
+
+        assertThat(redisReadCache.get(KEY)).isEqualTo("token-1");
+        assertThat(redisReadCache.get(KEY)).isEqualTo("token-1");
+
+        assertThat(meterRegistry.counter("redis.client_cache.hits").count()).isEqualTo(1);
+    }
+
+    @Test
+    void writeFromAnotherConnectionInvalidatesLocalCopy() throws InterruptedException {
+        redisTemplate.opsForValue().set(KEY, "token-1");
+        assertThat(redisReadCache.get(KEY)).isEqualTo("token-1");
+
+        redisTemplate.opsForValue().set(KEY, "token-2");
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (meterRegistry.counter("redis.client_cache.invalidations").count() == 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(meterRegistry.counter("redis.client_cache.invalidations").count()).isGreaterThan(0);
+        assertThat(redisReadCache.get(KEY)).isEqualTo("token-2");
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.springbootpractice.config;
+
+import com.example.springbootpractice.common.LocalRedis;
+import com.example.springbootpractice.member.security.RedisDegradedMode;
+import com.example.springbootpractice.member.security.TokenStore;
+import io.lettuce.core.ReadFrom;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// localhost:6379 에 Redis 가 떠 있을 때만 실행된다.
+// RedisConfig 가 만든 primary/replica 커넥션 팩토리 위에서 TokenStore 의 쓰기는 primary 로,
+// 블랙리스트 조회는 replica 로 가는지 템플릿별 호출 수로 확인한다.
+class RedisReplicaRoutingTests {
+    private static final String TOKEN = "Bearer replica-routing-test";
+
+    private LettuceConnectionFactory primaryFactory;
+    private LettuceConnectionFactory replicaFactory;
+    private CountingRedisTemplate primary;
+    private CountingRedisTemplate replica;
+    private TokenStore tokenStore;
+    private TokenStore otherNode;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(LocalRedis.isRunning(), "local redis is not running");
+
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setHost("localhost");
+        redisProperties.setPort(6379);
+        RedisConfig redisConfig = new RedisConfig(redisProperties);
+        ReflectionTestUtils.setField(redisConfig, "topologyRefreshPeriod", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(redisConfig, "defaultCommandTimeout", Duration.ofMillis(500));
+
+        primaryFactory = (LettuceConnectionFactory) redisConfig.redisTemplate().getConnectionFactory();
+        replicaFactory = (LettuceConnectionFactory) redisConfig.replicaRedisTemplate().getConnectionFactory();
+        primaryFactory.afterPropertiesSet();
+        replicaFactory.afterPropertiesSet();
+        primary = new CountingRedisTemplate(primaryFactory);
+        replica = new CountingRedisTemplate(replicaFactory);
+
+        tokenStore = createTokenStore();
+        otherNode = createTokenStore();
+        // init 에서 계정 폐기 목록을 primary 에서 읽어 오므로 그 뒤부터 센다.
+        primary.calls.set(0);
+        replica.calls.set(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (primary != null) {
+            primary.delete(TOKEN);
+            primaryFactory.destroy();
+            replicaFactory.destroy();
+        }
+    }
+
+    @Test
+    void factoriesReadFromUpstreamAndReplicaPreferred() {
+        assertThat(primaryFactory.getClientConfiguration().getReadFrom()).contains(ReadFrom.UPSTREAM);
+        assertThat(replicaFactory.getClientConfiguration().getReadFrom()).contains(ReadFrom.REPLICA_PREFERRED);
+    }
+
+    @Test
+    void blacklistWritesGoToPrimaryAndReadsGoToReplica() {
+        tokenStore.revoke(TOKEN, 60_000);
+
+        assertThat(primary.calls.get()).isGreaterThan(0);
+        assertThat(replica.calls.get()).isZero();
+
+        // 로컬 폐기 목록이 없는 다른 노드에서 조회해야 Redis 까지 간다.
+        int primaryCalls = primary.calls.get();
+        assertThat(otherNode.isBlacklisted(TOKEN)).isTrue();
+        assertThat(otherNode.areBlacklisted(List.of(TOKEN, "Bearer other"))).containsExactly(true, false);
+
+        assertThat(replica.calls.get()).isEqualTo(2);
+        assertThat(primary.calls.get()).isEqualTo(primaryCalls);
+    }
+
+    @Test
+    void refreshTokenReadsStayOnPrimary() {
+        otherNode.getRefreshToken("replica-routing-test@example.com");
+
+        assertThat(primary.calls.get()).isEqualTo(1);
+        assertThat(replica.calls.get()).isZero();
+    }
+
+    private TokenStore createTokenStore() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TokenStore store = new TokenStore(primary, replica,
+                new RedisReadCache(primary, new RedisProperties(), meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(store, "degradedMode", RedisDegradedMode.FAIL_OPEN);
+        ReflectionTestUtils.setField(store, "failureRateThreshold", 50f);
+        ReflectionTestUtils.setField(store, "slowCallDuration", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(store, "minimumNumberOfCalls", 20);
+        ReflectionTestUtils.setField(store, "waitDurationInOpenState", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(store, "accountSyncInterval", Duration.ZERO);
+        ReflectionTestUtils.setField(store, "maxLocalRevocations", 100);
+        store.init();
+        return store;
+    }
+
+    // 최상위 execute 만 센다.
+    private static class CountingRedisTemplate extends RedisTemplate<String, Object> {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final ThreadLocal<Integer> depth = ThreadLocal.withInitial(() -> 0);
+
+        CountingRedisTemplate(RedisConnectionFactory connectionFactory) {
+            setKeySerializer(new StringRedisSerializer());
+            setValueSerializer(new StringRedisSerializer());
+            setConnectionFactory(connectionFactory);
+            afterPropertiesSet();
+        }
+
+        @Override
+        public <T> T execute(RedisCallback<T> action, boolean exposeConnection, boolean pipeline) {
+            if (depth.get() == 0) {
+                calls.incrementAndGet();
+            }
+            depth.set(depth.get() + 1);
+            try {
+                return super.execute(action, exposeConnection, pipeline);
+            } finally {
+                depth.set(depth.get() - 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.springbootpractice.config;
+
+import com.example.springbootpractice.common.LocalRedis;
+import com.example.springbootpractice.member.security.RedisDegradedMode;
+import com.example.springbootpractice.member.security.TokenStore;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.sentinel.api.StatefulRedisSentinelConnection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// 로컬에 실제 primary(6379)/replica(6380), Sentinel(26379)을 띄웠을 때만 실행된다.
+// RedisConfig 로 연결한 TokenStore 의 폐기(SET)는 primary 에서, 블랙리스트 조회(GET)는 replica 에서
+// 실행되는지 노드별 INFO commandstats 의 호출 수로 확인한다.
+class RedisTopologyRoutingTests {
+    private static final String SENTINEL_MASTER = "mymaster";
+    private static final String TOKEN_PREFIX = "Bearer topology-routing-";
+    private static final int TOKENS = 20;
+
+    private final List<LettuceConnectionFactory> factories = new ArrayList<>();
+    private RedisTemplate<String, Object> primary;
+
+    @AfterEach
+    void tearDown() {
+        if (primary != null) {
+            for (int i = 0; i < TOKENS; i++) {
+                primary.delete(TOKEN_PREFIX + i);
+            }
+        }
+        factories.forEach(LettuceConnectionFactory::destroy);
+    }
+
+    // Standalone 설정에서도 INFO replication 으로 replica 를 찾아 읽기를 보낸다.
+    @Test
+    void standaloneDiscoversReplicaAndSendsBlacklistReadsToIt() {
+        assumeTrue(LocalRedis.isRunning() && LocalRedis.isRunning(LocalRedis.REPLICA_PORT),
+                "local redis primary/replica is not running");
+        RedisURI primaryNode = RedisURI.create("localhost", LocalRedis.PORT);
+        RedisURI replicaNode = RedisURI.create("localhost", LocalRedis.REPLICA_PORT);
+        assumeTrue(isReplicaOf(replicaNode, LocalRedis.PORT), "localhost:6380 is not a replica of localhost:6379");
+
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setHost("localhost");
+        redisProperties.setPort(LocalRedis.PORT);
+
+        assertRouting(redisProperties, primaryNode, List.of(replicaNode));
+    }
+
+    @Test
+    void sentinelSendsWritesToMasterAndBlacklistReadsToReplicas() {
+        assumeTrue(LocalRedis.isRunning(LocalRedis.SENTINEL_PORT), "local sentinel is not running");
+        RedisURI primaryNode;
+        List<RedisURI> replicaNodes;
+        RedisClient client = RedisClient.create(RedisURI.create("localhost", LocalRedis.SENTINEL_PORT));
+        try (StatefulRedisSentinelConnection<String, String> sentinel = client.connectSentinel()) {
+            InetSocketAddress master = (InetSocketAddress) sentinel.sync().getMasterAddrByName(SENTINEL_MASTER);
+            assumeTrue(master != null, "sentinel does not monitor " + SENTINEL_MASTER);
+            primaryNode = RedisURI.create(master.getHostString(), master.getPort());
+            replicaNodes = sentinel.sync().slaves(SENTINEL_MASTER).stream()
+                    .filter(replica -> !replica.get("flags").contains("down"))
+                    .map(replica -> RedisURI.create(replica.get("ip"), Integer.parseInt(replica.get("port"))))
+                    .collect(Collectors.toList());
+        } finally {
+            client.shutdown();
+        }
+        assumeFalse(replicaNodes.isEmpty(), "sentinel reports no replica for " + SENTINEL_MASTER);
+
+        RedisProperties redisProperties = new RedisProperties();
+        RedisProperties.Sentinel sentinel = new RedisProperties.Sentinel();
+        sentinel.setMaster(SENTINEL_MASTER);
+        sentinel.setNodes(List.of("localhost:" + LocalRedis.SENTINEL_PORT));
+        redisProperties.setSentinel(sentinel);
+
+        assertRouting(redisProperties, primaryNode, replicaNodes);
+    }
+
+    private void assertRouting(RedisProperties redisProperties, RedisURI primaryNode, List<RedisURI> replicaNodes) {
+        RedisConfig redisConfig = new RedisConfig(redisProperties);
+        ReflectionTestUtils.setField(redisConfig, "topologyRefreshPeriod", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(redisConfig, "defaultCommandTimeout", Duration.ofMillis(500));
+        primary = template(redisConfig.redisTemplate());
+        RedisTemplate<String, Object> replica = template(redisConfig.replicaRedisTemplate());
+        TokenStore writer = createTokenStore(primary, replica);
+        // 로컬 폐기 목록이 없는 다른 노드에서 조회해야 Redis 까지 간다.
+        TokenStore reader = createTokenStore(primary, replica);
+
+        long primarySets = commandCalls(primaryNode, "set");
+        long primaryGets = commandCalls(primaryNode, "get");
+        long replicaGets = commandCalls(replicaNodes, "get");
+
+        for (int i = 0; i < TOKENS; i++) {
+            writer.revoke(TOKEN_PREFIX + i, 60_000);
+        }
+        for (int i = 0; i < TOKENS; i++) {
+            reader.isBlacklisted(TOKEN_PREFIX + i);
+        }
+
+        assertThat(commandCalls(primaryNode, "set") - primarySets).isGreaterThanOrEqualTo(TOKENS);
+        assertThat(commandCalls(replicaNodes, "get") - replicaGets).isGreaterThanOrEqualTo(TOKENS);
+        assertThat(commandCalls(primaryNode, "get") - primaryGets).isZero();
+        // 복제가 따라오면 replica 조회에서도 폐기된 것으로 보인다.
+        await(() -> reader.isBlacklisted(TOKEN_PREFIX + (TOKENS - 1)));
+    }
+
+    private RedisTemplate<String, Object> template(RedisTemplate<String, Object> template) {
+        LettuceConnectionFactory connectionFactory = (LettuceConnectionFactory) template.getConnectionFactory();
+        connectionFactory.afterPropertiesSet();
+        factories.add(connectionFactory);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    private static TokenStore createTokenStore(RedisTemplate<String, Object> primary, RedisTemplate<String, Object> replica) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TokenStore store = new TokenStore(primary, replica,
+                new RedisReadCache(primary, new RedisProperties(), meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(store, "degradedMode", RedisDegradedMode.FAIL_OPEN);
+        ReflectionTestUtils.setField(store, "failureRateThreshold", 50f);
+        ReflectionTestUtils.setField(store, "slowCallDuration", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(store, "minimumNumberOfCalls", 20);
+        ReflectionTestUtils.setField(store, "waitDurationInOpenState", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(store, "accountSyncInterval", Duration.ZERO);
+        ReflectionTestUtils.setField(store, "maxLocalRevocations", 100);
+        store.init();
+        return store;
+    }
+
+    private static boolean isReplicaOf(RedisURI node, int primaryPort) {
+        RedisClient client = RedisClient.create(node);
+        try (StatefulRedisConnection<String, String> connection = client.connect()) {
+            // ROLE 응답: [slave, master host, master port, state, offset]
+            List<Object> role = connection.sync().role();
+            return "slave".equals(role.get(0)) && ((Number) role.get(2)).intValue() == primaryPort;
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private static long commandCalls(List<RedisURI> nodes, String command) {
+        return nodes.stream().mapToLong(node -> commandCalls(node, command)).sum();
+    }
+
+    // INFO commandstats 의 "cmdstat_<command>:calls=N,..." 줄에서 N 을 읽는다.
+    private static long commandCalls(RedisURI node, String command) {
+        String prefix = "cmdstat_" + command + ":calls=";
+        RedisClient client = RedisClient.create(node);
+        try (StatefulRedisConnection<String, String> connection = client.connect()) {
+            for (String line : connection.sync().info("commandstats").split("\r\n")) {
+                if (line.startsWith(prefix)) {
+                    return Long.parseLong(line.substring(prefix.length(), line.indexOf(',', prefix.length())));
+                }
+            }
+            return 0;
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private static void await(java.util.function.BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
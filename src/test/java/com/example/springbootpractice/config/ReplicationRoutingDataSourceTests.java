@@ -0,0 +1,106 @@
+package com.example.springbootpractice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// primary / replica 를 각각 별도의 H2 in-memory DB 로 띄워서 어느 쪽에서 읽었는지 확인한다.
+class ReplicationRoutingDataSourceTests {
+    private DriverManagerDataSource primary;
+    private DriverManagerDataSource replica;
+    private ReplicationRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+
+        DataSourceRoutingProperties properties = new DataSourceRoutingProperties();
+        properties.setReadYourWritesWindow(Duration.ofSeconds(5));
+        meterRegistry = new SimpleMeterRegistry();
+        routingDataSource = new ReplicationRoutingDataSource(primary, List.of(replica), properties, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(primary).execute("drop all objects");
+        new JdbcTemplate(replica).execute("drop all objects");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertThat(readOnlyTransaction.execute(status -> whoAmI())).isEqualTo("replica");
+    }
+
+    @Test
+    void writesAndNonTransactionalCallsGoToPrimary() {
+        assertThat(writeTransaction.execute(status -> whoAmI())).isEqualTo("primary");
+        assertThat(whoAmI()).isEqualTo("primary");
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", "", List.of()));
+
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("update node set name = name"));
+
+        assertThat(readOnlyTransaction.execute(status -> whoAmI())).isEqualTo("primary");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("other@example.com", "", List.of()));
+        assertThat(readOnlyTransaction.execute(status -> whoAmI())).isEqualTo("replica");
+    }
+
+    @Test
+    void failedReplicaFallsBackToPrimaryUntilHealthy() {
+        replica.setUrl("jdbc:h2:tcp://localhost:1/unreachable");
+
+        assertThat(readOnlyTransaction.execute(status -> whoAmI())).isEqualTo("primary");
+        assertThat(meterRegistry.counter("datasource.routing.fallbacks").count()).isEqualTo(1);
+
+        replica.setUrl("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1");
+        routingDataSource.checkReplicas();
+
+        assertThat(readOnlyTransaction.execute(status -> whoAmI())).isEqualTo("replica");
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DriverManagerDataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(20))");
+        jdbcTemplate.update("insert into node values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.springbootpractice.config;
+
+import com.example.springbootpractice.common.Allocations;
+import com.example.springbootpractice.member.entity.Authority;
+import com.example.springbootpractice.member.security.AccessTokenRenewer;
+import com.example.springbootpractice.member.security.JwtAuthenticationFilter;
+import com.example.springbootpractice.member.security.JwtProvider;
+import com.example.springbootpractice.member.security.TokenStore;
+import com.example.springbootpractice.member.service.UserDetailServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.DefaultSecurityFilterChain;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+// FilterChainProxy(CorsFilter -> JwtAuthenticationFilter)를 거치는 요청 한 번의 할당 바이트를
+// 요청마다 CorsConfiguration 을 만들던 이전 source 와 기동 시 한 번 만든 source(SecurityConfig)로 비교한다.
+// 인가/예외 처리 필터는 두 경우에 같으므로 HttpSecurity 컨텍스트 없이 CORS 와 JWT 필터만 구성한다.
+class SecurityFilterChainAllocationTests {
+    private static final String SALT = "0123456789abcdef0123456789abcdef";
+    private static final String ORIGIN = "http://localhost:8083";
+
+    private JwtProvider jwtProvider;
+    private AccessTokenRenewer accessTokenRenewer;
+    private TokenStore tokenStore;
+    private String bearer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // 호출 기록이 측정에 쌓이지 않도록 stubOnly mock 을 사용한다.
+        UserDetailServiceImpl userDetailsService = mock(UserDetailServiceImpl.class, withSettings().stubOnly());
+        when(userDetailsService.loadUserByUsername(anyString()))
+                .thenReturn(User.withUsername("user@example.com").password("").roles("USER").build());
+        tokenStore = mock(TokenStore.class, withSettings().stubOnly());
+        jwtProvider = new JwtProvider(userDetailsService, mock(RedisTemplate.class, withSettings().stubOnly()), tokenStore);
+        ReflectionTestUtils.setField(jwtProvider, "salt", SALT);
+        jwtProvider.init();
+        accessTokenRenewer = new AccessTokenRenewer(jwtProvider, new SimpleMeterRegistry());
+        bearer = "Bearer " + jwtProvider.createToken("user@example.com",
+                List.of(Authority.builder().name("ROLE_USER").build()), JwtProvider.ACCESS_TOKEN);
+    }
+
+    @Test
+    void preflightAllocatesLessWithPrecomputedCorsConfiguration() {
+        FilterChainProxy perRequest = chain(SecurityFilterChainAllocationTests::perRequestConfiguration);
+        FilterChainProxy precomputed = chain(precomputedSource());
+
+        MockHttpServletResponse response = preflight(precomputed);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("Access-Control-Allow-Origin")).isEqualTo(ORIGIN);
+        assertThat(response.getHeader("Access-Control-Max-Age")).isEqualTo("3600");
+
+        long before = Allocations.bytesPerOperation(() -> preflight(perRequest), 20_000, 10_000);
+        long after = Allocations.bytesPerOperation(() -> preflight(precomputed), 20_000, 10_000);
+
+        assertThat(after).as("preflight bytes/request: %d before, %d after", before, after).isLessThan(before);
+    }
+
+    @Test
+    void authenticatedRequestAllocatesLessWithPrecomputedCorsConfiguration() {
+        FilterChainProxy perRequest = chain(SecurityFilterChainAllocationTests::perRequestConfiguration);
+        FilterChainProxy precomputed = chain(precomputedSource());
+
+        MockHttpServletResponse response = authenticated(precomputed);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("Access-Control-Expose-Headers")).contains("Access_Token");
+
+        long before = Allocations.bytesPerOperation(() -> authenticated(perRequest), 20_000, 10_000);
+        long after = Allocations.bytesPerOperation(() -> authenticated(precomputed), 20_000, 10_000);
+
+        assertThat(after).as("authenticated bytes/request: %d before, %d after", before, after).isLessThan(before);
+    }
+
+    private FilterChainProxy chain(CorsConfigurationSource corsConfigurationSource) {
+        return new FilterChainProxy(new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE,
+                new CorsFilter(corsConfigurationSource),
+                new JwtAuthenticationFilter(tokenStore, jwtProvider, accessTokenRenewer)));
+    }
+
+    private static CorsConfigurationSource precomputedSource() {
+        return new SecurityConfig(null, null, null, new CorsProperties(), null, null, null).corsConfigurationSource();
+    }
+
+    private static MockHttpServletResponse preflight(FilterChainProxy chain) {
+        MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/user/get");
+        request.addHeader("Origin", ORIGIN);
+        request.addHeader("Access-Control-Request-Method", "GET");
+        request.addHeader("Access-Control-Request-Headers", "Authorization, Content-Type");
+        return filter(chain, request);
+    }
+
+    private MockHttpServletResponse authenticated(FilterChainProxy chain) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/get");
+        request.addHeader("Origin", ORIGIN);
+        request.addHeader("Authorization", bearer);
+        return filter(chain, request);
+    }
+
+    private static MockHttpServletResponse filter(FilterChainProxy chain, MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            chain.doFilter(request, response, (req, res) -> {
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ServletException e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    // 변경 전 SecurityConfig 의 CORS source: 요청마다 설정과 목록을 새로 만든다.
+    private static CorsConfiguration perRequestConfiguration(HttpServletRequest request) {
+        CorsConfiguration config = new CorsConfiguration();
+        config.setAllowedOrigins(List.of(
+                "http://192.168.0.3:8083/",
+                "http://localhost:8083/"));
+        config.setMaxAge(3600L);
+        config.setAllowCredentials(true);
+        config.setAllowedMethods(List.of("PUT", "GET", "POST", "OPTIONS", "DELETE", "PATCH"));
+        config.setExposedHeaders(List.of(
+                "Authorization",
+                "X-CSRF-TOKEN",
+                "Access_Token"));
+        config.setAllowedHeaders(List.of(
+                "Access-Control-Allow-Headers",
+                "Access-Control-Allow-Origin",
+                "Access-Control-Expose-Headers",
+                "Access-control-allow-credentials",
+                "Accept",
+                "X-Requested-With",
+                "Authorization",
+                "Cache-Control",
+                "Content-Type",
+                "Expires",
+                "Last-Modified",
+                "Content-Language",
+                "Pragma",
+                "Baeldung-Allowed",
+                "Credential",
+                "X-AUTH-TOKEN",
+                "X-CSRF-TOKEN"));
+        return config;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.springbootpractice.config;
+
+import com.example.springbootpractice.SpringbootPracticeApplication;
+import com.example.springbootpractice.member.dto.LoginResponseDto;
+import com.example.springbootpractice.member.dto.TokenDto;
+import com.example.springbootpractice.member.entity.Authority;
+import com.example.springbootpractice.member.security.JwtProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// JIT 상태는 JVM 마다 따로이므로 warmup.enabled=false/true 로 각각 새 JVM 을 띄우고,
+// 컨텍스트가 뜬 직후 첫 요청들에 해당하는 JWT 발급/검증, LoginResponseDto 직렬화, bcrypt 호출 시간을 비교한다.
+class WarmUpRunnerBenchmarkTests {
+    private static final String RESULT_PREFIX = "first-calls-nanos=";
+    private static final int CALLS = 500;
+    private static final int BCRYPT_CALLS = 3;
+
+    @Test
+    void warmUpShortensFirstCallsAfterStartup() throws Exception {
+        long cold = firstCallsNanos(false);
+        long warm = firstCallsNanos(true);
+
+        assertThat(warm)
+                .as("first %d calls took %d ms with warm-up, %d ms without",
+                        CALLS, TimeUnit.NANOSECONDS.toMillis(warm), TimeUnit.NANOSECONDS.toMillis(cold))
+                .isLessThan(cold);
+    }
+
+    private static long firstCallsNanos(boolean warmUp) throws IOException, InterruptedException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(List.of(
+                java, "-cp", System.getProperty("java.class.path"),
+                Benchmark.class.getName(), String.valueOf(warmUp)))
+                .redirectErrorStream(true)
+                .start();
+
+        long result = -1;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    result = Long.parseLong(line.substring(RESULT_PREFIX.length()));
+                }
+            }
+        }
+        assertThat(process.waitFor(2, TimeUnit.MINUTES)).isTrue();
+        assertThat(result).as("benchmark output (warmup.enabled=%s)", warmUp).isPositive();
+        return result;
+    }
+
+    // 별도 JVM 에서 실행된다. args[0] = warmup.enabled
+    static class Benchmark {
+        public static void main(String[] args) throws Exception {
+            SpringApplication application = new SpringApplication(SpringbootPracticeApplication.class);
+            application.setApplicationStartup(new BufferingApplicationStartup(4096));
+            application.setAdditionalProfiles("fast-startup");
+
+            long elapsed;
+            try (ConfigurableApplicationContext context =
+                         application.run("--server.port=0", "--warmup.enabled=" + args[0])) {
+                JwtProvider jwtProvider = context.getBean(JwtProvider.class);
+                ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+                PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+
+                List<Authority> roles = List.of(Authority.builder().name("ROLE_USER").build());
+                String encoded = passwordEncoder.encode("benchmark-password");
+                long started = System.nanoTime();
+                for (int i = 0; i < CALLS; i++) {
+                    String token = "Bearer " + jwtProvider.createToken("benchmark@example.com", roles, JwtProvider.ACCESS_TOKEN);
+                    jwtProvider.checkToken(token);
+                    objectMapper.writeValueAsBytes(LoginResponseDto.builder()
+                            .id((long) i)
+                            .email("benchmark@example.com")
+                            .roles(roles)
+                            .tokens(new TokenDto(token, token))
+                            .build());
+                }
+                for (int i = 0; i < BCRYPT_CALLS; i++) {
+                    passwordEncoder.matches("benchmark-password", encoded);
+                }
+                elapsed = System.nanoTime() - started;
+            }
+            System.out.println(RESULT_PREFIX + elapsed);
+            System.exit(0);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.springbootpractice.member.controller;
+
+import com.example.springbootpractice.member.dto.LoginResponseDto;
+import com.example.springbootpractice.member.entity.Authority;
+import com.example.springbootpractice.member.entity.Member;
+import com.example.springbootpractice.member.repository.MemberRepository;
+import com.example.springbootpractice.member.service.MemberServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// /user/get 조건부 GET: 200 -> 304 (strong/weak If-None-Match) -> 회원정보 변경 -> 200
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MemberETagTests {
+    private static final String EMAIL = "etag@example.com";
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private MemberController memberController;
+
+    @BeforeEach
+    void setUp() {
+        memberController = new MemberController(new MemberServiceImpl(memberRepository, null, null, null, null, null, null));
+
+        Member member = Member.builder()
+                .email(EMAIL)
+                .password("password")
+                .name("before")
+                .phone("01012345678")
+                .build();
+        member.setRoles(new ArrayList<>(List.of(Authority.builder().name("ROLE_USER").build())));
+        memberRepository.save(member);
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.findByEmail(EMAIL).ifPresent(memberRepository::delete);
+    }
+
+    @Test
+    void notModifiedUntilMemberChanges() throws Exception {
+        ResponseEntity<LoginResponseDto> first = memberController.getUser(EMAIL, null);
+        String eTag = first.getHeaders().getETag();
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(eTag).isNotNull();
+
+        ResponseEntity<LoginResponseDto> strong = memberController.getUser(EMAIL, eTag);
+        ResponseEntity<LoginResponseDto> weak = memberController.getUser(EMAIL, "\"other\", W/" + eTag);
+        assertThat(strong.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(strong.getBody()).isNull();
+        assertThat(strong.getHeaders().getETag()).isEqualTo(eTag);
+        assertThat(weak.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        Member member = memberRepository.findByEmail(EMAIL).orElseThrow();
+        member.setName("after");
+        memberRepository.save(member);
+
+        ResponseEntity<LoginResponseDto> modified = memberController.getUser(EMAIL, "W/" + eTag);
+        assertThat(modified.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(modified.getBody().getName()).isEqualTo("after");
+        assertThat(modified.getHeaders().getETag()).isNotEqualTo(eTag);
+        assertThat(memberController.getUser(EMAIL, modified.getHeaders().getETag()).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.springbootpractice.member.controller;
+
+import com.example.springbootpractice.member.dto.MemberSearchResponseDto;
+import com.example.springbootpractice.member.dto.MemberSummaryDto;
+import com.example.springbootpractice.member.entity.Member;
+import com.example.springbootpractice.member.repository.MemberRepository;
+import com.example.springbootpractice.member.service.MemberServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 관리자 회원 검색: LIKE 특수문자 escape('!'), 같은 값의 id 순 정렬, nextValue/nextId 커서, 잘못된 field 는 400
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MemberSearchTests {
+    private static final List<String> NAMES = List.of("kim_a", "kimxa", "kim_a", "kim%b", "kim!c", "kim_a", "lee");
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private MemberController memberController;
+    private final List<Member> members = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        memberController = new MemberController(new MemberServiceImpl(memberRepository, null, null, null, null, null, null));
+        for (int i = 0; i < NAMES.size(); i++) {
+            members.add(memberRepository.save(Member.builder()
+                    .email("search-" + i + "@example.com")
+                    .password("password")
+                    .name(NAMES.get(i))
+                    .phone("0101234000" + i)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll(members);
+    }
+
+    @Test
+    void likeWildcardsInPrefixAreMatchedLiterally() {
+        assertThat(names(search("name", "kim_", null, null, 20))).containsExactly("kim_a", "kim_a", "kim_a");
+        assertThat(names(search("name", "kim%", null, null, 20))).containsExactly("kim%b");
+        assertThat(names(search("name", "kim!", null, null, 20))).containsExactly("kim!c");
+    }
+
+    @Test
+    void pagesBreakTiesOnIdAndFollowTheCursor() {
+        List<Long> sameName = members.stream().filter(member -> member.getName().equals("kim_a"))
+                .map(Member::getId).sorted().collect(Collectors.toList());
+
+        MemberSearchResponseDto first = search("name", "kim_", null, null, 2);
+        assertThat(ids(first)).containsExactlyElementsOf(sameName.subList(0, 2));
+        assertThat(first.getNextValue()).isEqualTo("kim_a");
+        assertThat(first.getNextId()).isEqualTo(sameName.get(1));
+
+        MemberSearchResponseDto second = search("name", "kim_", first.getNextValue(), first.getNextId(), 2);
+        assertThat(ids(second)).containsExactly(sameName.get(2));
+        assertThat(second.getNextValue()).isNull();
+        assertThat(second.getNextId()).isNull();
+    }
+
+    @Test
+    void walkingAllPagesReturnsEveryMatchOnceInNameIdOrder() {
+        List<Long> expected = members.stream()
+                .filter(member -> member.getName().startsWith("kim"))
+                .sorted(Comparator.comparing(Member::getName).thenComparing(Member::getId))
+                .map(Member::getId)
+                .collect(Collectors.toList());
+
+        List<Long> walked = new ArrayList<>();
+        MemberSearchResponseDto page = search("name", "kim", null, null, 2);
+        walked.addAll(ids(page));
+        while (page.getNextId() != null) {
+            page = search("name", "kim", page.getNextValue(), page.getNextId(), 2);
+            walked.addAll(ids(page));
+        }
+
+        assertThat(walked).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void unsupportedFieldIsBadRequest() {
+        ResponseEntity<MemberSearchResponseDto> response = memberController.searchMembers("password", "a", null, null, 20);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private MemberSearchResponseDto search(String field, String prefix, String afterValue, Long afterId, int size) {
+        ResponseEntity<MemberSearchResponseDto> response = memberController.searchMembers(field, prefix, afterValue, afterId, size);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private static List<String> names(MemberSearchResponseDto response) {
+        return response.getMembers().stream().map(MemberSummaryDto::getName).collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(MemberSearchResponseDto response) {
+        return response.getMembers().stream().map(MemberSummaryDto::getId).collect(Collectors.toList());
+    }
+}
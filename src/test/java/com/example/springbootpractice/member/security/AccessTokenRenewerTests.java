@@ -0,0 +1,156 @@
+package com.example.springbootpractice.member.security;
+
+import com.example.springbootpractice.audit.service.AuthAuditService;
+import com.example.springbootpractice.member.entity.Authority;
+import com.example.springbootpractice.member.service.MemberServiceImpl;
+import com.example.springbootpractice.member.service.UserDetailServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AccessTokenRenewerTests {
+    private static final String SALT = "0123456789abcdef0123456789abcdef";
+
+    private JwtProvider jwtProvider;
+    private AccessTokenRenewer renewer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jwtProvider = new JwtProvider(mock(UserDetailServiceImpl.class), mock(RedisTemplate.class), mock(TokenStore.class));
+        ReflectionTestUtils.setField(jwtProvider, "salt", SALT);
+        jwtProvider.init();
+        renewer = new AccessTokenRenewer(jwtProvider, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(renewer, "enabled", true);
+        ReflectionTestUtils.setField(renewer, "maxEntries", 100);
+    }
+
+    @Test
+    void renewsOncePerWindowWithSameSubjectRolesAndAuthTime() {
+        // 새로 발급한 토큰도 window 안에 들도록 access token 수명보다 길게 잡는다.
+        ReflectionTestUtils.setField(renewer, "window", Duration.ofMillis(JwtProvider.ACCESS_TIME).plusMinutes(1));
+        Claims claims = verify(jwtProvider, jwtProvider.createToken("user@example.com", roles(), JwtProvider.ACCESS_TOKEN));
+
+        String renewed = renewer.renew(claims);
+
+        assertThat(renewed).isNotNull();
+        Claims renewedClaims = verify(jwtProvider, renewed);
+        assertThat(renewedClaims.getSubject()).isEqualTo("user@example.com");
+        assertThat(renewedClaims.get("roles")).isEqualTo(claims.get("roles"));
+        assertThat(JwtProvider.getAuthTime(renewedClaims)).isEqualTo(JwtProvider.getAuthTime(claims));
+        // 같은 window 안의 다른 요청에는 다시 발급하지 않는다.
+        assertThat(renewer.renew(claims)).isNull();
+        assertThat(renewer.renew(renewedClaims)).isNull();
+    }
+
+    @Test
+    void doesNotRenewOutsideWindow() {
+        ReflectionTestUtils.setField(renewer, "window", Duration.ofMinutes(5));
+        Claims claims = verify(jwtProvider, jwtProvider.createToken("user@example.com", roles(), JwtProvider.ACCESS_TOKEN));
+
+        assertThat(renewer.renew(claims)).isNull();
+    }
+
+    // 재발급을 이어 가도 최초 로그인부터 REFRESH_TIME 을 넘을 수 없다.
+    @Test
+    void doesNotRenewBeyondAuthTimePlusRefreshTimeOrWithoutAuthTime() {
+        ReflectionTestUtils.setField(renewer, "window", Duration.ofMinutes(5));
+        long now = System.currentTimeMillis();
+
+        Claims expiredLogin = nearExpiryClaims("old@example.com", now);
+        expiredLogin.put(JwtProvider.AUTH_TIME, (now - JwtProvider.REFRESH_TIME) / 1000);
+        Claims withoutAuthTime = nearExpiryClaims("legacy@example.com", now);
+        Claims recentLogin = nearExpiryClaims("recent@example.com", now);
+        recentLogin.put(JwtProvider.AUTH_TIME, (now - JwtProvider.REFRESH_TIME + 3_600_000) / 1000);
+
+        assertThat(renewer.renew(expiredLogin)).isNull();
+        assertThat(renewer.renew(withoutAuthTime)).isNull();
+        // 남은 로그인 수명(1시간)까지만 연장한다.
+        Claims renewed = verify(jwtProvider, renewer.renew(recentLogin));
+        assertThat(renewed.getExpiration().getTime() / 1000)
+                .isEqualTo(JwtProvider.getAuthTime(recentLogin) + JwtProvider.REFRESH_TIME / 1000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void evictsOldestEntriesBeyondMaxEntries() {
+        ReflectionTestUtils.setField(renewer, "window", Duration.ofMillis(JwtProvider.ACCESS_TIME).plusMinutes(1));
+        for (int i = 0; i < 150; i++) {
+            Claims claims = verify(jwtProvider, jwtProvider.createToken("user-" + i + "@example.com", roles(), JwtProvider.ACCESS_TOKEN));
+            assertThat(renewer.renew(claims)).isNotNull();
+        }
+
+        Map<String, Long> renewedAt = (Map<String, Long>) ReflectionTestUtils.getField(renewer, "renewedAt");
+        assertThat(renewedAt).hasSizeLessThanOrEqualTo(100).containsKey("user-149@example.com");
+    }
+
+    // 로그아웃은 제시된 토큰의 로그인만 폐기한다. 그 로그인에서 이미 재발급된 토큰은 거부되고 다른 기기의 로그인은 유지된다.
+    @Test
+    @SuppressWarnings("unchecked")
+    void logOutRevokesTokensRenewedFromTheSameLoginOnly() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
+        TokenStore tokenStore = new TokenStore(redisTemplate, redisTemplate, null, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenStore, "degradedMode", RedisDegradedMode.FAIL_OPEN);
+        ReflectionTestUtils.setField(tokenStore, "failureRateThreshold", 50f);
+        ReflectionTestUtils.setField(tokenStore, "slowCallDuration", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(tokenStore, "minimumNumberOfCalls", 20);
+        ReflectionTestUtils.setField(tokenStore, "waitDurationInOpenState", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(tokenStore, "accountSyncInterval", Duration.ZERO);
+        ReflectionTestUtils.setField(tokenStore, "maxLocalRevocations", 100);
+        tokenStore.init();
+        JwtProvider provider = new JwtProvider(mock(UserDetailServiceImpl.class), redisTemplate, tokenStore);
+        ReflectionTestUtils.setField(provider, "salt", SALT);
+        provider.init();
+        AccessTokenRenewer loginRenewer = new AccessTokenRenewer(provider, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(loginRenewer, "enabled", true);
+        ReflectionTestUtils.setField(loginRenewer, "maxEntries", 100);
+        ReflectionTestUtils.setField(loginRenewer, "window", Duration.ofMillis(JwtProvider.ACCESS_TIME).plusMinutes(1));
+        MemberServiceImpl memberService = new MemberServiceImpl(null, null, provider, tokenStore, null, mock(AuthAuditService.class), null);
+
+        String token = provider.createToken("user@example.com", roles(), JwtProvider.ACCESS_TOKEN);
+        String renewed = loginRenewer.renew(verify(provider, token));
+        // 다른 기기에서 한 시간 전에 로그인한 토큰
+        Claims otherLogin = verify(provider, token);
+        otherLogin.put(JwtProvider.AUTH_TIME, JwtProvider.getAuthTime(otherLogin) - 3600);
+        String otherDevice = provider.renewAccessToken(otherLogin);
+        memberService.logOut("Bearer " + token);
+
+        assertThat(tokenStore.isBlacklisted("Bearer " + token, verify(provider, token))).isTrue();
+        assertThat(tokenStore.isBlacklisted("Bearer " + renewed, verify(provider, renewed))).isTrue();
+        assertThat(tokenStore.isBlacklisted("Bearer " + otherDevice, verify(provider, otherDevice))).isFalse();
+        assertThat(tokenStore.isAccountRevoked("user@example.com", verify(provider, otherDevice).getIssuedAt())).isFalse();
+        Mockito.verify(redisTemplate).delete("RT:user@example.com");
+    }
+
+    private Claims nearExpiryClaims(String subject, long now) {
+        Claims claims = Jwts.claims().setSubject(subject).setExpiration(new Date(now + 60_000));
+        claims.put("roles", List.of(Map.of("name", "ROLE_USER")));
+        return claims;
+    }
+
+    private static Claims verify(JwtProvider provider, String token) {
+        Claims[] verified = new Claims[1];
+        assertThat(provider.checkToken("Bearer " + token, claims -> verified[0] = claims)).isEqualTo(TokenStatus.VALID);
+        return verified[0];
+    }
+
+    private List<Authority> roles() {
+        return List.of(Authority.builder().name("ROLE_USER").build());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.springbootpractice.member.security;
+
+import com.example.springbootpractice.common.Allocations;
+import com.example.springbootpractice.member.entity.Authority;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HmacJwsCodecTests {
+    private static final Key KEY = Keys.hmacShaKeyFor("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+    private final HmacJwsCodec codec = new HmacJwsCodec(KEY, 4096);
+    private final JwtParser jwtParser = Jwts.parserBuilder().setSigningKey(KEY).build();
+
+    @Test
+    void producesSameCompactJwsAsJjwt() {
+        long now = System.currentTimeMillis();
+
+        assertThat(codec.sign(claims(now))).isEqualTo(jjwtToken(now));
+    }
+
+    @Test
+    void acceptsJjwtTokensAndJjwtAcceptsCodecTokens() {
+        long now = System.currentTimeMillis();
+
+        Claims claims = codec.parse(jjwtToken(now));
+        assertThat(claims.getSubject()).isEqualTo("user@example.com");
+        assertThat(claims.getExpiration().getTime()).isEqualTo((now + 60_000) / 1000 * 1000);
+        assertThat(jwtParser.parseClaimsJws(codec.sign(claims(now))).getBody().getSubject()).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void rejectsTamperedSignatureAndOtherAlgorithms() {
+        String token = codec.sign(claims(System.currentTimeMillis()));
+        // 마지막 문자는 사용하지 않는 하위 비트가 있으므로 그 앞 문자를 바꾼다.
+        int index = token.length() - 5;
+        String tampered = token.substring(0, index) + (token.charAt(index) == 'A' ? 'B' : 'A') + token.substring(index + 1);
+        String unsigned = Base64.getUrlEncoder().withoutPadding().encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.US_ASCII))
+                + token.substring(token.indexOf('.'));
+
+        assertThatThrownBy(() -> codec.parse(tampered)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> codec.parse(unsigned)).isInstanceOf(SignatureException.class);
+    }
+
+    // 서명+검증 한 번의 할당 바이트를 jjwt 와 비교한다.
+    @Test
+    void allocatesLessThanJjwtPerSignAndVerify() {
+        long now = System.currentTimeMillis();
+        long codecBytes = Allocations.bytesPerOperation(() -> codec.parse(codec.sign(claims(now))), 20_000, 10_000);
+        long jjwtBytes = Allocations.bytesPerOperation(() -> jwtParser.parseClaimsJws(jjwtToken(now)).getBody(), 20_000, 10_000);
+
+        assertThat(codecBytes).isLessThan(jjwtBytes);
+    }
+
+    private Map<String, Object> claims(long now) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put(Claims.SUBJECT, "user@example.com");
+        claims.put("roles", roles());
+        claims.put(Claims.ISSUED_AT, now / 1000);
+        claims.put(Claims.EXPIRATION, (now + 60_000) / 1000);
+        return claims;
+    }
+
+    private String jjwtToken(long now) {
+        Claims claims = Jwts.claims().setSubject("user@example.com");
+        claims.put("roles", roles());
+        return Jwts.builder()
+                .setClaims(claims)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 60_000))
+                .signWith(KEY, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private List<Authority> roles() {
+        return List.of(Authority.builder().name("ROLE_USER").build());
+    }
+}
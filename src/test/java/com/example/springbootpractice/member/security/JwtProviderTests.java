@@ -0,0 +1,117 @@
+package com.example.springbootpractice.member.security;
+
+import com.example.springbootpractice.common.Allocations;
+import com.example.springbootpractice.member.entity.Authority;
+import com.example.springbootpractice.member.service.UserDetailServiceImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class JwtProviderTests {
+    private static final String SALT = "0123456789abcdef0123456789abcdef";
+
+    private JwtProvider jwtProvider;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jwtProvider = new JwtProvider(mock(UserDetailServiceImpl.class), mock(RedisTemplate.class), mock(TokenStore.class));
+        ReflectionTestUtils.setField(jwtProvider, "salt", SALT);
+        jwtProvider.init();
+    }
+
+    @Test
+    void issuedTokenIsValid() {
+        String token = jwtProvider.createToken("user@example.com", roles(), JwtProvider.ACCESS_TOKEN);
+
+        assertThat(jwtProvider.checkToken("Bearer " + token)).isEqualTo(TokenStatus.VALID);
+        assertThat(jwtProvider.getAccount("Bearer " + token)).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void bearerPrefixIsCaseInsensitive() {
+        String token = jwtProvider.createToken("user@example.com", roles(), JwtProvider.ACCESS_TOKEN);
+
+        assertThat(jwtProvider.checkToken("bearer   " + token + " ")).isEqualTo(TokenStatus.VALID);
+    }
+
+    // 접두어 뒤/토큰 뒤의 공백 개수나 종류와 관계없이 같은 compact JWS 를 꺼낸다.
+    @Test
+    void bearerHeaderVariantsYieldSameCompactJws() {
+        String token = jwtProvider.createToken("user@example.com", roles(), JwtProvider.ACCESS_TOKEN);
+
+        for (String header : List.of("Bearer " + token, "BEARER " + token, "Bearer  " + token,
+                "Bearer " + token + "\t", "Bearer \t" + token + "  ")) {
+            assertThat(JwtProvider.getClaimFromToken(header)).isEqualTo(token);
+            assertThat(jwtProvider.checkToken(header)).isEqualTo(TokenStatus.VALID);
+        }
+        assertThat(JwtProvider.getClaimFromToken(null)).isNull();
+        assertThat(JwtProvider.getClaimFromToken("Bearer")).isNull();
+        assertThat(JwtProvider.getClaimFromToken("Bearer    ")).isNull();
+        assertThat(JwtProvider.getClaimFromToken("Bearer" + token)).isNull();
+    }
+
+    // 이전 구현(substring + split + trim)과 호출 한 번의 할당 바이트를 비교한다.
+    @Test
+    void parsingBearerHeaderAllocatesLessThanSplit() {
+        String header = "Bearer " + jwtProvider.createToken("user@example.com", roles(), JwtProvider.ACCESS_TOKEN);
+
+        long splitBytes = Allocations.bytesPerOperation(() -> splitClaimFromToken(header), 20_000, 10_000);
+        long currentBytes = Allocations.bytesPerOperation(() -> JwtProvider.getClaimFromToken(header), 20_000, 10_000);
+
+        assertThat(currentBytes).isLessThan(splitBytes);
+    }
+
+    private static String splitClaimFromToken(String token) {
+        if (!token.substring(0, "BEARER ".length()).equalsIgnoreCase("BEARER ")) {
+            return null;
+        }
+        return token.split(" ")[1].trim();
+    }
+
+    @Test
+    void expiredTokenIsRejectedBeforeSignatureCheck() {
+        String token = Jwts.builder()
+                .setSubject("user@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                // 다른 키로 서명해도 만료가 먼저 판정된다.
+                .signWith(Keys.hmacShaKeyFor("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(jwtProvider.checkToken("Bearer " + token)).isEqualTo(TokenStatus.EXPIRED);
+    }
+
+    @Test
+    void tamperedSignatureIsReported() {
+        String token = jwtProvider.createToken("user@example.com", roles(), JwtProvider.ACCESS_TOKEN);
+        char last = token.charAt(token.length() - 2);
+        String tampered = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+
+        assertThat(jwtProvider.checkToken("Bearer " + tampered)).isEqualTo(TokenStatus.BAD_SIGNATURE);
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        assertThat(jwtProvider.checkToken(null)).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(jwtProvider.checkToken("Basic abc")).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(jwtProvider.checkToken("Bearer abc.def")).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(jwtProvider.checkToken("Bearer a.b.c.d")).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(jwtProvider.checkToken("Bearer " + "a".repeat(5000))).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(jwtProvider.validateToken("Bearer !!!.@@@.###")).isFalse();
+    }
+
+    private List<Authority> roles() {
+        return List.of(Authority.builder().name("ROLE_USER").build());
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.springbootpractice.member.security;
+
+import com.example.springbootpractice.config.RedisReadCache;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 접속은 받지만 응답하지 않는 TCP 서버를 Redis 대신 띄워서 Redis stall 상황을 만든다.
+class TokenStoreTests {
+    private ServerSocket stalledRedis;
+    private final List<Socket> accepted = new CopyOnWriteArrayList<>();
+    private LettuceConnectionFactory connectionFactory;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenStore tokenStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stalledRedis = new ServerSocket(0);
+        Thread acceptor = new Thread(() -> {
+            while (!stalledRedis.isClosed()) {
+                try {
+                    accepted.add(stalledRedis.accept());
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", stalledRedis.getLocalPort()),
+                LettuceClientConfiguration.builder().commandTimeout(Duration.ofMillis(100)).build());
+        connectionFactory.afterPropertiesSet();
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        meterRegistry = new SimpleMeterRegistry();
+        RedisReadCache redisReadCache = new RedisReadCache(redisTemplate, new RedisProperties(), meterRegistry);
+        tokenStore = new TokenStore(redisTemplate, redisTemplate, redisReadCache, meterRegistry);
+        ReflectionTestUtils.setField(tokenStore, "degradedMode", RedisDegradedMode.FAIL_OPEN);
+        ReflectionTestUtils.setField(tokenStore, "failureRateThreshold", 50f);
+        ReflectionTestUtils.setField(tokenStore, "slowCallDuration", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(tokenStore, "minimumNumberOfCalls", 5);
+        ReflectionTestUtils.setField(tokenStore, "waitDurationInOpenState", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(tokenStore, "accountSyncInterval", Duration.ZERO);
+        ReflectionTestUtils.setField(tokenStore, "maxLocalRevocations", 100);
+        tokenStore.init();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionFactory.destroy();
+        stalledRedis.close();
+        for (Socket socket : accepted) {
+            socket.close();
+        }
+    }
+
+    @Test
+    void stalledRedisOpensCircuitAndFailsOpen() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(tokenStore.isBlacklisted("Bearer token-" + i)).isFalse();
+        }
+        assertThat(tokenStore.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // open 상태에서는 Redis 를 기다리지 않는다.
+        long started = System.nanoTime();
+        assertThat(tokenStore.isBlacklisted("Bearer token-x")).isFalse();
+        assertThat((System.nanoTime() - started) / 1_000_000).isLessThan(50);
+
+        assertThat(meterRegistry.get("redis.token_store.fallbacks").tag("operation", "blacklist").counter().count())
+                .isEqualTo(6);
+    }
+
+    @Test
+    void locallyReplicatedRevocationsAreHonouredWhileRedisIsDown() {
+        tokenStore.onRevocationMessage(
+                new DefaultMessage(
+                        TokenStore.REVOCATION_CHANNEL.getBytes(),
+                        ((System.currentTimeMillis() + 60_000) + " Bearer revoked").getBytes()),
+                null);
+
+        assertThat(tokenStore.isBlacklisted("Bearer revoked")).isTrue();
+        assertThat(tokenStore.isBlacklisted("Bearer other")).isFalse();
+    }
+
+    // 폐기 키는 compact JWS 기준이라 Authorization 헤더 표기만 다른 같은 토큰도 폐기된 것으로 본다.
+    @Test
+    void revocationIsKeyedOnCompactJwsRegardlessOfHeaderSpelling() {
+        tokenStore.onRevocationMessage(
+                new DefaultMessage(
+                        TokenStore.REVOCATION_CHANNEL.getBytes(),
+                        ((System.currentTimeMillis() + 60_000) + " bearer  revoked\t").getBytes()),
+                null);
+
+        assertThat(tokenStore.isBlacklisted("Bearer revoked")).isTrue();
+        assertThat(tokenStore.isBlacklisted("Bearer  revoked")).isTrue();
+        assertThat(tokenStore.isBlacklisted("BEARER revoked \t")).isTrue();
+        assertThat(tokenStore.areBlacklisted(List.of("bearer revoked", " Bearer revoked", "Bearer  revoked ")))
+                .containsExactly(true, false, true);
+        assertThat(TokenStore.blacklistKey("bearer  revoked ")).isEqualTo("Bearer revoked");
+    }
+
+    // 계정 폐기는 redis.local-revocations.max-entries 와 관계없이 모두 유지한다.
+    @Test
+    void accountRevocationsAreNeverDroppedBeyondMaxEntries() {
+        long revokedAt = System.currentTimeMillis();
+        StringBuilder body = new StringBuilder().append(revokedAt);
+        for (int i = 0; i < 250; i++) {
+            body.append(" user-").append(i).append("@example.com");
+        }
+        tokenStore.onAccountRevocationMessage(
+                new DefaultMessage(TokenStore.ACCOUNT_REVOCATION_CHANNEL.getBytes(), body.toString().getBytes()), null);
+
+        Date issuedBefore = new Date(revokedAt - 1000);
+        for (int i = 0; i < 250; i++) {
+            assertThat(tokenStore.isAccountRevoked("user-" + i + "@example.com", issuedBefore)).isTrue();
+        }
+        assertThat(tokenStore.isAccountRevoked("other@example.com", issuedBefore)).isFalse();
+    }
+
+    // 로그아웃/강제 로그아웃은 Redis 가 응답하지 않아도 실패하지 않고 로컬 폐기 목록에 남긴다.
+    @Test
+    void revocationsFallBackToLocalListWhileRedisIsDown() {
+        long issuedAt = System.currentTimeMillis() - 1000;
+
+        tokenStore.revoke("Bearer revoked", 60_000);
+        tokenStore.deleteRefreshToken("user@example.com");
+        assertThat(tokenStore.revokeAccounts(List.of("user@example.com"))).isZero();
+
+        assertThat(tokenStore.isBlacklisted("Bearer revoked")).isTrue();
+        assertThat(tokenStore.isAccountRevoked("user@example.com", new Date(issuedAt))).isTrue();
+        for (String operation : List.of("revoke", "delete-refresh-token", "revoke-accounts")) {
+            assertThat(meterRegistry.get("redis.token_store.fallbacks").tag("operation", operation).counter().count())
+                    .isEqualTo(1);
+        }
+    }
+
+    // 구독이 끊겨 받지 못한 계정 폐기도 sorted set 재동기화로 반영된다.
+    // 다음 동기화는 처음부터가 아니라 마지막으로 성공한 동기화 시각(겹치는 구간 포함)부터 읽는다.
+    @Test
+    @SuppressWarnings("unchecked")
+    void accountRevocationsMissedOverPubSubAreResyncedFromSortedSet() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        ZSetOperations<String, Object> zSet = mock(ZSetOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSet);
+        when(zSet.rangeByScoreWithScores(eq("Revoked accounts"), anyDouble(), anyDouble())).thenReturn(Set.of());
+        TokenStore store = new TokenStore(redisTemplate, redisTemplate, null, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(store, "degradedMode", RedisDegradedMode.FAIL_OPEN);
+        ReflectionTestUtils.setField(store, "failureRateThreshold", 50f);
+        ReflectionTestUtils.setField(store, "slowCallDuration", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(store, "minimumNumberOfCalls", 20);
+        ReflectionTestUtils.setField(store, "waitDurationInOpenState", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(store, "accountSyncInterval", Duration.ZERO);
+        ReflectionTestUtils.setField(store, "maxLocalRevocations", 100);
+        long initializedAt = System.currentTimeMillis();
+        store.init();
+
+        long revokedAt = System.currentTimeMillis();
+        when(zSet.rangeByScoreWithScores(eq("Revoked accounts"), anyDouble(), anyDouble()))
+                .thenReturn(Set.of(new DefaultTypedTuple<Object>("missed@example.com", (double) revokedAt)));
+        Date issuedBefore = new Date(revokedAt - 1000);
+        assertThat(store.isAccountRevoked("missed@example.com", issuedBefore)).isFalse();
+
+        store.syncRevokedAccounts();
+        store.close();
+
+        assertThat(store.isAccountRevoked("missed@example.com", issuedBefore)).isTrue();
+        ArgumentCaptor<Double> from = ArgumentCaptor.forClass(Double.class);
+        Mockito.verify(zSet, Mockito.times(2)).rangeByScoreWithScores(eq("Revoked accounts"), from.capture(), anyDouble());
+        assertThat(from.getAllValues().get(0)).isLessThanOrEqualTo(initializedAt - JwtProvider.ACCESS_TIME + 1000);
+        assertThat(from.getAllValues().get(1)).isGreaterThanOrEqualTo(initializedAt - 60_000.0);
+    }
+
+    @Test
+    void failClosedRejectsEveryTokenWhileRedisIsDown() {
+        ReflectionTestUtils.setField(tokenStore, "degradedMode", RedisDegradedMode.FAIL_CLOSED);
+
+        assertThat(tokenStore.isBlacklisted("Bearer token")).isTrue();
+        assertThat(tokenStore.getRefreshToken("user@example.com")).isNull();
+    }
+}
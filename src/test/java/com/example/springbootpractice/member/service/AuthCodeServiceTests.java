@@ -0,0 +1,98 @@
+package com.example.springbootpractice.member.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// HMAC 모드. Redis 스크립트는 키 이름으로 구분해서 Map 으로 흉내낸다.
+class AuthCodeServiceTests {
+    private static final String EMAIL = "user@example.com";
+
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private ValueOperations<String, Object> valueOperations;
+    private AuthCodeService authCodeService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenAnswer(invocation -> {
+            List<Object> values = new ArrayList<>();
+            for (String key : (List<String>) invocation.getArgument(0)) {
+                values.add(redis.get(key));
+            }
+            return values;
+        });
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any())).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(1);
+            if (keys.size() == 1) {
+                // 틀린 횟수 증가
+                return (long) Integer.parseInt(redis.merge(keys.get(0), "1", (a, b) -> String.valueOf(Integer.parseInt(a) + 1)));
+            }
+            // 사용 표시: 잠겼으면 -1, 재사용이면 0
+            if (Integer.parseInt(redis.getOrDefault(keys.get(0), "0")) >= 3) {
+                return -1L;
+            }
+            return redis.putIfAbsent(keys.get(1), "1") == null ? 1L : 0L;
+        });
+
+        authCodeService = new AuthCodeService(redisTemplate, null);
+        ReflectionTestUtils.setField(authCodeService, "mode", AuthCodeMode.HMAC);
+        ReflectionTestUtils.setField(authCodeService, "secret", "0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(authCodeService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(authCodeService, "authCodeExpirationMillis", 300_000L);
+        authCodeService.init();
+    }
+
+    @Test
+    void issuedCodeIsDerivedWithoutStorageAndCanBeUsedOnce() {
+        String code = authCodeService.issue(EMAIL);
+
+        assertThat(code).matches("\\d{6}");
+        verify(valueOperations, never()).set(any(), any(), any(Duration.class));
+        assertThat(authCodeService.verify(EMAIL.toUpperCase(), code)).isTrue();
+        assertThat(authCodeService.consume(EMAIL, code)).isTrue();
+        assertThat(authCodeService.consume(EMAIL, code)).isFalse();
+        assertThat(authCodeService.verify(EMAIL, code)).isFalse();
+    }
+
+    @Test
+    void previousWindowCodeIsAcceptedAndOlderIsNot() {
+        long window = System.currentTimeMillis() / 300_000L;
+
+        assertThat(authCodeService.verify(EMAIL, authCodeService.derive(EMAIL, window - 1))).isTrue();
+        assertThat(authCodeService.verify(EMAIL, authCodeService.derive(EMAIL, window - 2))).isFalse();
+    }
+
+    @Test
+    void locksAfterMaxFailedAttempts() {
+        String code = authCodeService.issue(EMAIL);
+        String wrong = code.equals("000000") ? "000001" : "000000";
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(authCodeService.verify(EMAIL, wrong)).isFalse();
+        }
+
+        assertThat(authCodeService.verify(EMAIL, code)).isFalse();
+        assertThat(authCodeService.consume(EMAIL, code)).isFalse();
+    }
+}
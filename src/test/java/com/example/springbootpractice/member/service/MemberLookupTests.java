@@ -0,0 +1,132 @@
+package com.example.springbootpractice.member.service;
+
+import com.example.springbootpractice.member.dto.MemberLookupDto;
+import com.example.springbootpractice.member.dto.MemberLookupResponseDto;
+import com.example.springbootpractice.member.entity.Authority;
+import com.example.springbootpractice.member.entity.Member;
+import com.example.springbootpractice.member.repository.MemberRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 관리자 일괄 조회(lookupMembers)의 순서/누락/대소문자/청크/권한 집계와 SQL 수를 확인한다.
+// 운영 DB(MariaDB)의 email 비교는 대소문자를 구분하지 않으므로 H2 도 IGNORECASE 로 띄운다.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:member-lookup;MODE=MariaDB;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MemberLookupTests {
+    private static final int MEMBERS = 600;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MemberServiceImpl memberService;
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        memberService = new MemberServiceImpl(memberRepository, null, null, null, null, null, null);
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            Member member = Member.builder()
+                    .email(email(i))
+                    .password("password")
+                    .name("lookup" + i)
+                    .phone("010" + i)
+                    .build();
+            List<Authority> roles = new ArrayList<>(List.of(Authority.builder().name("ROLE_USER").build()));
+            if (i % 2 == 0) {
+                roles.add(Authority.builder().name("ROLE_ADMIN").build());
+            }
+            member.setRoles(roles);
+            members.add(member);
+        }
+        memberRepository.saveAll(members).forEach(member -> ids.add(member.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAllById(ids);
+    }
+
+    @Test
+    void emailLookupKeepsRequestOrderAndReportsMissingKeys() {
+        MemberLookupResponseDto response = memberService.lookupMembers(
+                Arrays.asList(email(3), "missing@example.com", email(1).toUpperCase(), null, email(2)), null);
+
+        assertThat(response.getMembers()).extracting(MemberLookupDto::getId)
+                .containsExactly(ids.get(3), ids.get(1), ids.get(2));
+        // 저장된 표기로 돌려준다.
+        assertThat(response.getMembers().get(1).getEmail()).isEqualTo(email(1));
+        assertThat(response.getMissing()).containsExactly("missing@example.com", "null");
+    }
+
+    @Test
+    void rolesAreAggregatedPerMember() {
+        MemberLookupResponseDto response = memberService.lookupMembers(null, List.of(ids.get(0), ids.get(1)));
+
+        assertThat(response.getMembers().get(0).getRoles()).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        assertThat(response.getMembers().get(1).getRoles()).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void keysAbove500AreChunkedWithTwoStatementsPerChunk() {
+        List<Long> keys = new ArrayList<>(ids);
+        keys.add(-1L);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        MemberLookupResponseDto byId = memberService.lookupMembers(null, keys);
+        long idStatements = statistics.getPrepareStatementCount();
+
+        List<String> emails = IntStream.range(0, MEMBERS).mapToObj(MemberLookupTests::email).collect(Collectors.toList());
+        statistics.clear();
+        MemberLookupResponseDto byEmail = memberService.lookupMembers(emails, null);
+        long emailStatements = statistics.getPrepareStatementCount();
+
+        assertThat(byId.getMembers()).extracting(MemberLookupDto::getId).containsExactlyElementsOf(ids);
+        assertThat(byId.getMissing()).containsExactly("-1");
+        assertThat(byEmail.getMembers()).extracting(MemberLookupDto::getEmail).containsExactlyElementsOf(emails);
+        assertThat(byEmail.getMembers().get(MEMBERS - 1).getRoles()).containsExactly("ROLE_USER");
+        // 회원 조회 2청크 + 권한 조회 2청크. 회원마다 권한을 따로 읽지 않는다.
+        assertThat(idStatements).isEqualTo(4);
+        assertThat(emailStatements).isEqualTo(4);
+    }
+
+    @Test
+    void rejectsMoreThanMaxLookupSize() {
+        List<Long> keys = LongStream.rangeClosed(1, 1001).boxed().collect(Collectors.toList());
+
+        assertThatThrownBy(() -> memberService.lookupMembers(null, keys))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String email(int i) {
+        return "lookup-" + i + "@example.com";
+    }
+}
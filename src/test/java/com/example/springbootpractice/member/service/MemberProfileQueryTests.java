@@ -0,0 +1,112 @@
+package com.example.springbootpractice.member.service;
+
+import com.example.springbootpractice.common.Allocations;
+import com.example.springbootpractice.member.dto.LoginResponseDto;
+import com.example.springbootpractice.member.entity.Authority;
+import com.example.springbootpractice.member.entity.Member;
+import com.example.springbootpractice.member.repository.MemberRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 프로필 조회를 엔티티 로딩(findByEmail)과 projection(findProfileByEmail)으로 비교한다.
+// 서비스처럼 호출마다 새 readOnly 트랜잭션을 쓰도록 테스트 트랜잭션은 사용하지 않는다.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MemberProfileQueryTests {
+    private static final String EMAIL = "profile@example.com";
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private MemberServiceImpl memberService;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        memberService = new MemberServiceImpl(memberRepository, null, null, null, null, null, null);
+
+        Member member = Member.builder()
+                .email(EMAIL)
+                .password(new BCryptPasswordEncoder(4).encode("password"))
+                .name("name")
+                .phone("01012345678")
+                .build();
+        member.setRoles(new ArrayList<>(List.of(Authority.builder().name("ROLE_USER").build(),
+                Authority.builder().name("ROLE_ADMIN").build())));
+        memberRepository.save(member);
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.findByEmail(EMAIL).ifPresent(memberRepository::delete);
+    }
+
+    @Test
+    void projectionReturnsSameProfileWithoutLoadingEntities() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        LoginResponseDto entity = readOnly.execute(status -> new LoginResponseDto(memberRepository.findByEmail(EMAIL).orElseThrow()));
+        long entityStatements = statistics.getPrepareStatementCount();
+        long entityLoads = statistics.getEntityLoadCount();
+
+        statistics.clear();
+        LoginResponseDto projection = readOnly.execute(status -> getMember());
+
+        assertThat(projection.getId()).isEqualTo(entity.getId());
+        assertThat(projection.getEmail()).isEqualTo(entity.getEmail());
+        assertThat(projection.getName()).isEqualTo(entity.getName());
+        assertThat(projection.getPhone()).isEqualTo(entity.getPhone());
+        assertThat(projection.getVersion()).isEqualTo(entity.getVersion());
+        assertThat(projection.getRoles()).extracting(Authority::getName)
+                .containsExactlyInAnyOrderElementsOf(entity.getRoles().stream().map(Authority::getName).toList());
+
+        // 엔티티 경로: member SELECT + EAGER roles SELECT, member 1개 + authority 2개 로딩
+        assertThat(entityStatements).isEqualTo(2);
+        assertThat(entityLoads).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    // 조회 한 번의 할당 바이트를 비교한다.
+    @Test
+    void projectionAllocatesLessThanEntityLoad() {
+        long entityBytes = Allocations.bytesPerOperation(() ->
+                readOnly.execute(status -> new LoginResponseDto(memberRepository.findByEmail(EMAIL).orElseThrow())), 2_000, 2_000);
+        long projectionBytes = Allocations.bytesPerOperation(() -> readOnly.execute(status -> getMember()), 2_000, 2_000);
+
+        assertThat(projectionBytes).isLessThan(entityBytes);
+    }
+
+    private LoginResponseDto getMember() {
+        try {
+            return memberService.getMember(EMAIL);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
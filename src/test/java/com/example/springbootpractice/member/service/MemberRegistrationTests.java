@@ -0,0 +1,198 @@
+package com.example.springbootpractice.member.service;
+
+import com.example.springbootpractice.common.BusinessLogicException;
+import com.example.springbootpractice.common.ExceptionCode;
+import com.example.springbootpractice.member.dto.SignUpRequestDto;
+import com.example.springbootpractice.member.repository.MemberRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// H2 의 email_unique 제약과 인증번호 compare-and-delete 만으로 동시 가입을 처리하는지 확인한다.
+// 저장 실패 시 중복 판별(유일 제약 위반)과 인증번호 복원도 확인한다.
+// 각 스레드가 자기 트랜잭션으로 INSERT 하도록 테스트 트랜잭션은 사용하지 않는다.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MemberRegistrationTests {
+    private static final int THREADS = 16;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    // Redis 의 "AuthCode <email>" 키
+    private final Map<String, String> authCodes = new ConcurrentHashMap<>();
+    private volatile boolean acceptAnyCode;
+    private AuthCodeService authCodeService;
+    private MemberServiceImpl memberService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        // compare-and-delete 스크립트를 ConcurrentHashMap.remove(key, value) 로 흉내낸다.
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any())).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(1);
+            return acceptAnyCode || authCodes.remove(keys.get(0), invocation.getArgument(2)) ? 1L : 0L;
+        });
+        ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), any(), any(Duration.class))).thenAnswer(invocation ->
+                authCodes.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+        authCodeService = new AuthCodeService(redisTemplate, null);
+        ReflectionTestUtils.setField(authCodeService, "mode", AuthCodeMode.REDIS);
+        ReflectionTestUtils.setField(authCodeService, "authCodeExpirationMillis", 60_000L);
+        memberService = new MemberServiceImpl(memberRepository, new BCryptPasswordEncoder(4),
+                null, null, null, null, authCodeService);
+    }
+
+    @Test
+    void concurrentRegistrationsOfSameEmailInsertOnceAndReportMemberExists() throws Exception {
+        acceptAnyCode = true;
+        List<SignUpRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            requests.add(request("same@example.com", "123456"));
+        }
+
+        Map<String, Integer> outcomes = registerConcurrently(requests);
+
+        assertThat(outcomes).containsEntry("OK", 1).containsEntry(ExceptionCode.MEMBER_EXISTS.name(), THREADS - 1);
+        assertThat(memberRepository.findByEmail("same@example.com")).isPresent();
+    }
+
+    @Test
+    void authCodeIsConsumedOnceAndDifferentEmailsAllRegister() throws Exception {
+        List<SignUpRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            String email = "user" + (i % 4) + "@example.com";
+            authCodes.put("AuthCode " + email, "00000" + (i % 4));
+            // 같은 이메일, 같은 인증번호로 4번씩 가입을 시도한다.
+            requests.add(request(email, "00000" + (i % 4)));
+        }
+
+        Map<String, Integer> outcomes = registerConcurrently(requests);
+
+        assertThat(outcomes).containsEntry("OK", 4).containsEntry(ExceptionCode.AUTH_CODE_NOT_VALID.name(), THREADS - 4);
+        assertThat(authCodes).isEmpty();
+        for (int i = 0; i < 4; i++) {
+            assertThat(memberRepository.findByEmail("user" + i + "@example.com")).isPresent();
+        }
+    }
+
+    @Test
+    void wrongCodeDoesNotConsumeStoredCode() {
+        authCodes.put("AuthCode wrong@example.com", "111111");
+
+        Map<String, Integer> outcomes = new ConcurrentHashMap<>();
+        register(request("wrong@example.com", "999999"), outcomes);
+
+        assertThat(outcomes).containsEntry(ExceptionCode.AUTH_CODE_NOT_VALID.name(), 1);
+        assertThat(authCodes).containsEntry("AuthCode wrong@example.com", "111111");
+    }
+
+    // 예전 스키마에 남은 Hibernate 이름(UK_...)의 유일 인덱스 위반도 중복 가입이다.
+    @Test
+    void uniqueViolationOfAnyConstraintNameIsMemberExists() {
+        MemberRepository failingRepository = mock(MemberRepository.class);
+        when(failingRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException("Duplicate entry", "23000", 1062), "UK_mbmcqelty0fbrvxp1q58dn57t")));
+        MemberServiceImpl service = new MemberServiceImpl(failingRepository, new BCryptPasswordEncoder(4),
+                null, null, null, null, authCodeService);
+        authCodes.put("AuthCode legacy@example.com", "222222");
+
+        assertThatThrownBy(() -> service.register(request("legacy@example.com", "222222")))
+                .isInstanceOf(BusinessLogicException.class)
+                .extracting(e -> ((BusinessLogicException) e).getExceptionCode())
+                .isEqualTo(ExceptionCode.MEMBER_EXISTS);
+    }
+
+    // 중복이 아닌 이유로 INSERT 가 실패하면 인증번호를 되돌려서 같은 번호로 다시 가입할 수 있다.
+    @Test
+    void transientFailureRestoresAuthCode() {
+        MemberRepository failingRepository = mock(MemberRepository.class);
+        when(failingRepository.saveAndFlush(any())).thenThrow(new DataAccessResourceFailureException("connection reset"));
+        MemberServiceImpl service = new MemberServiceImpl(failingRepository, new BCryptPasswordEncoder(4),
+                null, null, null, null, authCodeService);
+        authCodes.put("AuthCode retry@example.com", "333333");
+
+        assertThatThrownBy(() -> service.register(request("retry@example.com", "333333")))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(authCodes).containsEntry("AuthCode retry@example.com", "333333");
+
+        Map<String, Integer> outcomes = new ConcurrentHashMap<>();
+        register(request("retry@example.com", "333333"), outcomes);
+        assertThat(outcomes).containsEntry("OK", 1);
+        assertThat(memberRepository.findByEmail("retry@example.com")).isPresent();
+    }
+
+    private Map<String, Integer> registerConcurrently(List<SignUpRequestDto> requests) throws Exception {
+        Map<String, Integer> outcomes = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests.size());
+        List<Future<?>> futures = new ArrayList<>();
+        for (SignUpRequestDto request : requests) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                register(request, outcomes);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        return outcomes;
+    }
+
+    private void register(SignUpRequestDto request, Map<String, Integer> outcomes) {
+        String outcome;
+        try {
+            memberService.register(request);
+            outcome = "OK";
+        } catch (BusinessLogicException e) {
+            outcome = e.getExceptionCode().name();
+        }
+        outcomes.merge(outcome, 1, Integer::sum);
+    }
+
+    private SignUpRequestDto request(String email, String code) {
+        SignUpRequestDto request = new SignUpRequestDto();
+        request.setEmail(email);
+        request.setCode(code);
+        request.setName("name");
+        request.setPhone("010-1234-5678");
+        request.setPassword("password");
+        return request;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.springbootpractice.member.service;
+
+import com.example.springbootpractice.member.entity.Member;
+import com.example.springbootpractice.member.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 자유 형식으로 저장된 전화번호가 여러 페이지에 걸쳐 표준 형태로 바뀌고 다시 조회되는지 확인한다.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PhoneNumberBackfillTests {
+    private static final List<String> PHONES = List.of(
+            "010-9876-0001", "01098760002", "+82 10 9876 0003", "(010) 9876.0004", "01098760005");
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private PhoneNumberBackfill backfill;
+    private final List<Member> members = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        backfill = new PhoneNumberBackfill(memberRepository);
+        ReflectionTestUtils.setField(backfill, "pageSize", 2);
+        for (int i = 0; i < PHONES.size(); i++) {
+            members.add(memberRepository.save(Member.builder()
+                    .email("backfill-" + i + "@example.com")
+                    .password("password")
+                    .name("backfill" + i)
+                    .phone(PHONES.get(i))
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll(members);
+    }
+
+    @Test
+    void legacyPhoneNumbersAreNormalizedOnceAndBecomeFindable() {
+        assertThat(memberRepository.findByPhone("01098760001")).isEmpty();
+
+        assertThat(backfill.run()).isEqualTo(3);
+
+        assertThat(memberRepository.findByPhone("01098760001")).isPresent();
+        assertThat(memberRepository.findByPhone("+821098760003")).isPresent();
+        assertThat(memberRepository.findByPhone("01098760004")).isPresent();
+        Member changed = memberRepository.findById(members.get(0).getId()).orElseThrow();
+        Member unchanged = memberRepository.findById(members.get(1).getId()).orElseThrow();
+        // 바뀐 회원만 ETag(version)가 달라진다.
+        assertThat(changed.getVersion()).isEqualTo(members.get(0).getVersion() + 1);
+        assertThat(unchanged.getVersion()).isEqualTo(members.get(1).getVersion());
+        assertThat(backfill.run()).isZero();
+    }
+}
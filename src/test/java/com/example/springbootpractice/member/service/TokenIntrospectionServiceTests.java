@@ -0,0 +1,97 @@
+package com.example.springbootpractice.member.service;
+
+import com.example.springbootpractice.member.dto.TokenIntrospectionDto;
+import com.example.springbootpractice.member.entity.Authority;
+import com.example.springbootpractice.member.security.JwtProvider;
+import com.example.springbootpractice.member.security.TokenStatus;
+import com.example.springbootpractice.member.security.TokenStore;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenIntrospectionServiceTests {
+    private JwtProvider jwtProvider;
+    private TokenStore tokenStore;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenIntrospectionService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        tokenStore = mock(TokenStore.class);
+        jwtProvider = new JwtProvider(mock(UserDetailServiceImpl.class), mock(RedisTemplate.class), tokenStore);
+        ReflectionTestUtils.setField(jwtProvider, "salt", "0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.invokeMethod(jwtProvider, "init");
+
+        meterRegistry = new SimpleMeterRegistry();
+        service = new TokenIntrospectionService(jwtProvider, tokenStore, meterRegistry);
+        ReflectionTestUtils.setField(service, "maxBatchSize", 100);
+        ReflectionTestUtils.setField(service, "parallelism", 2);
+        ReflectionTestUtils.setField(service, "maxCacheEntries", 1000);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    void resultsFollowRequestOrderAndUseOneBlacklistLookup() {
+        String user = jwtProvider.createToken("user@example.com", List.of(role("ROLE_USER")), JwtProvider.ACCESS_TOKEN);
+        String admin = jwtProvider.createToken("admin@example.com", List.of(role("ROLE_USER"), role("ROLE_ADMIN")), JwtProvider.ACCESS_TOKEN);
+        when(tokenStore.areBlacklisted(anyList())).thenReturn(new boolean[]{false, true});
+
+        List<TokenIntrospectionDto> results = service.introspect(Arrays.asList(user, "garbage", "Bearer " + admin));
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).isActive()).isTrue();
+        assertThat(results.get(0).getSubject()).isEqualTo("user@example.com");
+        assertThat(results.get(0).getRoles()).containsExactly("ROLE_USER");
+        assertThat(results.get(0).getExpiresAt()).isGreaterThan(System.currentTimeMillis());
+        assertThat(results.get(1).isActive()).isFalse();
+        assertThat(results.get(1).getStatus()).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(results.get(2).isActive()).isFalse();
+        assertThat(results.get(2).isRevoked()).isTrue();
+        assertThat(results.get(2).getRoles()).containsExactly("ROLE_USER", "ROLE_ADMIN");
+        // 폐기 여부는 로그인 단위 키로 확인한다.
+        verify(tokenStore, times(1)).areBlacklisted(List.of(revocationKey(user), revocationKey(admin)));
+    }
+
+    @Test
+    void verifiedTokensAreCachedButRevocationIsRecheckedEveryTime() {
+        String token = jwtProvider.createToken("user@example.com", List.of(role("ROLE_USER")), JwtProvider.ACCESS_TOKEN);
+        when(tokenStore.areBlacklisted(anyList())).thenReturn(new boolean[]{false}, new boolean[]{true});
+
+        assertThat(service.introspect(List.of(token)).get(0).isActive()).isTrue();
+        assertThat(service.introspect(List.of(token)).get(0).isActive()).isFalse();
+
+        assertThat(meterRegistry.counter("token.introspection.cache", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("token.introspection.cache", "result", "miss").count()).isEqualTo(1);
+        verify(tokenStore, times(2)).areBlacklisted(anyList());
+    }
+
+    private String revocationKey(String token) {
+        Claims[] verified = new Claims[1];
+        jwtProvider.checkToken("Bearer " + token, claims -> verified[0] = claims);
+        return TokenStore.revocationKey("Bearer " + token, verified[0]);
+    }
+
+    private Authority role(String name) {
+        return Authority.builder().name(name).build();
+    }
+}